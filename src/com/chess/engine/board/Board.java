@@ -1,19 +1,15 @@
 package com.chess.engine.board;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import com.chess.engine.Alliance;
-import com.chess.engine.pieces.Bishop;
-import com.chess.engine.pieces.King;
-import com.chess.engine.pieces.Knight;
 import com.chess.engine.pieces.Pawn;
 import com.chess.engine.pieces.Piece;
-import com.chess.engine.pieces.Queen;
-import com.chess.engine.pieces.Rook;
+import com.chess.engine.pieces.Piece.PieceType;
+import com.chess.engine.pieces.PieceUtils;
 import com.chess.engine.player.BlackPlayer;
 import com.chess.engine.player.Player;
 import com.chess.engine.player.WhitePlayer;
@@ -24,12 +20,27 @@ import com.google.common.collect.Iterables;
 
 public class Board {
 
-	// List to store all the tiles on a chess game board
-	private final List<Tile> gameBoard;
+	// Piece types in index order so they don't have to be copied out of values() every time
+	private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+	// Array to store the piece on each tile - null for an empty tile. Tiles aren't kept, they are looked up from the tile cache
+	// when asked for
+	private final Piece[] boardConfiguration;
+	
+	// Bitboards for each alliance and piece type - bit n is set when the piece is on tile n
+	private final long[] pieceBitboards;
+	// Bitboards to store the tiles occupied by each color and by either color
+	private final long whiteOccupancy;
+	private final long blackOccupancy;
+	private final long occupancy;
 	
-	// Collections to store the pieces of each color left on board
-	private final Collection<Piece> whitePieces;
-	private final Collection<Piece> blackPieces;
+	// Collections to store the pieces of each color left on board - null until they are first asked for
+	private Collection<Piece> whitePieces;
+	private Collection<Piece> blackPieces;
+	
+	// Running totals of the piece values and piece square bonuses of each color - indexed by alliance
+	private final int[] material;
+	private final int[] pieceSquareScores;
 	
 	// Declare instances of each player
 	private final WhitePlayer whitePlayer;
@@ -41,29 +52,91 @@ public class Board {
 	// Variable to store the current en passant pawn
 	private final Pawn enPassantPawn;
 	
+	// Variable to store the castling rights - a 4 bit field with one bit for each side a color can still castle on
+	private final int castlingRights;
+	// Variable to store the zobrist key of the position - pieces, side to move, castling rights and en passant column
+	private final long zobristKey;
+	
+	// Collections to store the standard moves of each color, and the ones that don't leave the king attacked - each is
+	// null until it is first asked for so a board that is only evaluated or checked never generates them
+	private Collection<Move> whiteStandardMoves;
+	private Collection<Move> blackStandardMoves;
+	private Collection<Move> whiteStandardLegalMoves;
+	private Collection<Move> blackStandardLegalMoves;
+	
 	
 	
 	// Constructor
 	private Board(final Builder builder) {
-		// Use the builder to create set the value of the game board list
-		this.gameBoard = createGameBoard(builder);
-		// Use the calculate active pieces method to assign the collections white and black pieces
-		this.whitePieces = calculateActivePieces(this.gameBoard, Alliance.WHITE);
-		this.blackPieces = calculateActivePieces(this.gameBoard, Alliance.BLACK);
+		// Take over the builder's board configuration array - the builder can't change it once the board is built
+		this.boardConfiguration = builder.boardConfig;
+		// Take over the builder's piece bitboards - kept up to date as the builder's pieces were set
+		this.pieceBitboards = builder.pieceBitboards;
+		// Combine the piece bitboards into the occupancy bitboards
+		this.whiteOccupancy = calculateOccupancy(this.pieceBitboards, Alliance.WHITE);
+		this.blackOccupancy = calculateOccupancy(this.pieceBitboards, Alliance.BLACK);
+		this.occupancy = this.whiteOccupancy | this.blackOccupancy;
+		// Use the rights the executed move worked out, or work them out from the kings and rooks that haven't moved
+		this.castlingRights = builder.castlingRights != null ? builder.castlingRights : calculateCastlingRights(this.boardConfiguration);
+		// Take over the builder's material and piece square totals - updated as each piece was set or cleared
+		this.material = builder.material;
+		this.pieceSquareScores = builder.pieceSquareScores;
 		
 		// Assign the value of the en passant pawn
 		this.enPassantPawn = builder.enPassantPawn;
 		
-		// Collections to store all the standard legal moves for both colors
-		final Collection<Move> whiteStandardLegalMoves = calculateLegalMoves(this.whitePieces);
-		final Collection<Move> blackStandardLegalMoves = calculateLegalMoves(this.blackPieces);
-		
-		// Create new instances of each player
-		this.whitePlayer = new WhitePlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
-		this.blackPlayer = new BlackPlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
+		// Create new instances of each player - the moves of each color are only worked out when a player first asks for them
+		this.whitePlayer = new WhitePlayer(this);
+		this.blackPlayer = new BlackPlayer(this);
 		
 		// Set value of current player
 		this.currentPlayer = builder.nextMoveMaker.choosePlayer(this.whitePlayer, this.blackPlayer);
+		// Use the key the executed move worked out, or hash the whole board if it wasn't made by a move
+		this.zobristKey = builder.zobristKey != null ? builder.zobristKey : Zobrist.calculateKey(this);
+	}
+	
+	
+	
+	// Override the equals method for boards - two boards are the same if they have the same pieces, side to move,
+	// castling rights and en passant pawn
+	@Override
+	public boolean equals(final Object other) {
+		
+		// Check if the two instances are the same instance
+		if (this == other) {
+			// Return true - both instances are the same
+			return true;
+		}
+		
+		// Check if the parameter instance is an instance of board
+		if (!(other instanceof Board)) {
+			// Return false if it is not an instance of board
+			return false;
+		}
+		// Cast other as a board
+		final Board otherBoard = (Board) other;
+		// Compare the keys first as they almost always differ, then the position itself in case two positions share a key
+		return this.zobristKey == otherBoard.zobristKey && this.castlingRights == otherBoard.castlingRights &&
+			   this.currentPlayer.getAlliance() == otherBoard.currentPlayer.getAlliance() &&
+			   Arrays.equals(this.pieceBitboards, otherBoard.pieceBitboards) &&
+			   getEnPassantCoordinate(this.enPassantPawn) == getEnPassantCoordinate(otherBoard.enPassantPawn);
+	}
+	
+	
+	
+	// Override the hash code method for a board
+	@Override
+	public int hashCode() {
+		// Return the zobrist key folded into an integer
+		return Long.hashCode(this.zobristKey);
+	}
+	
+	
+	
+	// Method to return the tile of an en passant pawn - -1 if there isn't one
+	private static int getEnPassantCoordinate(final Pawn enPassantPawn) {
+		// Return the position of the pawn
+		return enPassantPawn == null ? -1 : enPassantPawn.getPiecePosition();
 	}
 	
 	
@@ -77,7 +150,7 @@ public class Board {
 		// Loop through all 64 tiles on a chess board
 		for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
 			// Variable to store the to string of each file
-			final String tileText = this.gameBoard.get(i).toString();
+			final String tileText = getTile(i).toString();
 			// Append it to the builder
 			builder.append(String.format("%3s", tileText));
 			
@@ -119,55 +192,625 @@ public class Board {
 		return this.enPassantPawn;
 	}
 	
+	// Getter method for the castling rights
+	public int getCastlingRights() {
+		// Return the castling rights
+		return this.castlingRights;
+	}
+	
+	// Getter method for the zobrist key
+	public long getZobristKey() {
+		// Return the zobrist key
+		return this.zobristKey;
+	}
+	
 	// Getter method to return a collection of black pieces
 	public Collection<Piece> getBlackPieces() {
+		
+		// Check if the black pieces haven't been collected yet
+		if (this.blackPieces == null) {
+			// Use the calculate active pieces method to collect the black pieces
+			this.blackPieces = calculateActivePieces(this.boardConfiguration, this.blackOccupancy);
+		}
 		// Return collection of black pieces
 		return this.blackPieces;
 	}
 	
 	// Getter method to return a collection of white pieces
 	public Collection<Piece> getWhitePieces() {
+		
+		// Check if the white pieces haven't been collected yet
+		if (this.whitePieces == null) {
+			// Use the calculate active pieces method to collect the white pieces
+			this.whitePieces = calculateActivePieces(this.boardConfiguration, this.whiteOccupancy);
+		}
 		// Return collection of white pieces
 		return this.whitePieces;
 	}
 	
 	
 	
-	// Method to calculate all the standard legal moves for a color
-	private Collection<Move> calculateLegalMoves(final Collection<Piece> pieces) {
-		// Array list to store all the legal moves for a color
-		final List<Move> legalMoves = new ArrayList<>();
+	// Getter method for the total value of a color's pieces
+	public int getMaterial(final Alliance alliance) {
+		// Return the running total for the color
+		return this.material[alliance.ordinal()];
+	}
+	
+	// Getter method for the total piece square bonus of a color's pieces
+	public int getPieceSquareScore(final Alliance alliance) {
+		// Return the running total for the color
+		return this.pieceSquareScores[alliance.ordinal()];
+	}
+	
+	
+	
+	// Getter method for the moves of a color that follow the piece rules - some may leave the king attacked, and castling isn't included
+	public Collection<Move> getStandardMoves(final Alliance alliance) {
+		
+		// Check which color's moves are wanted
+		if (alliance.isWhite()) {
+			
+			// Check if white's moves haven't been worked out yet
+			if (this.whiteStandardMoves == null) {
+				// Generate the moves for every white piece
+				this.whiteStandardMoves = collectMoves(Alliance.WHITE, false);
+			}
+			// Return white's moves
+			return this.whiteStandardMoves;
+		}
+		
+		// Check if black's moves haven't been worked out yet
+		if (this.blackStandardMoves == null) {
+			// Generate the moves for every black piece
+			this.blackStandardMoves = collectMoves(Alliance.BLACK, false);
+		}
+		// Return black's moves
+		return this.blackStandardMoves;
+	}
+	
+	// Getter method for the moves of a color that don't leave its king attacked - castling isn't included
+	public Collection<Move> getStandardLegalMoves(final Alliance alliance) {
+		
+		// Check which color's moves are wanted
+		if (alliance.isWhite()) {
+			
+			// Check if white's legal moves haven't been worked out yet
+			if (this.whiteStandardLegalMoves == null) {
+				// Generate white's legal moves
+				this.whiteStandardLegalMoves = collectMoves(Alliance.WHITE, true);
+			}
+			// Return white's legal moves
+			return this.whiteStandardLegalMoves;
+		}
+		
+		// Check if black's legal moves haven't been worked out yet
+		if (this.blackStandardLegalMoves == null) {
+			// Generate black's legal moves
+			this.blackStandardLegalMoves = collectMoves(Alliance.BLACK, true);
+		}
+		// Return black's legal moves
+		return this.blackStandardLegalMoves;
+	}
+	
+	
+	
+	// Method to generate the moves of a color straight into a list - only the legal ones if asked
+	private Collection<Move> collectMoves(final Alliance alliance, final boolean legalOnly) {
+		// Array list to store the moves
+		final List<Move> moves = new ArrayList<>();
+		// Sink that keeps every move it is passed
+		final MoveSink sink = new MoveSink() {
+			
+			// Override the accept method to keep every move
+			@Override
+			public boolean accept(final Move move) {
+				// Add the move and keep going
+				return moves.add(move);
+			}
+		};
+		
+		// Check which moves are wanted
+		if (legalOnly) {
+			// Generate only the legal moves
+			generateLegalMoves(alliance, sink);
+		} else {
+			// Generate all the moves that follow the piece rules
+			generateMoves(alliance, sink);
+		}
+		// Return an immutable list of the moves
+		return ImmutableList.copyOf(moves);
+	}
+	
+	
+	
+	// Method to pass the moves of a color that follow the piece rules to a sink as they are made - castling isn't included.
+	// Returns false if the sink stopped the generation early
+	public boolean generateMoves(final Alliance alliance, final MoveSink sink) {
+		// Generate the moves of every piece of the color
+		return generateMoves(alliance, getOccupancy(alliance), sink);
+	}
+	
+	// Method to pass the moves that follow the piece rules of only the color's pieces standing on a bitboard of tiles to a
+	// sink - castling isn't included. Returns false if the sink stopped the generation early
+	public boolean generateMoves(final Alliance alliance, final long pieceTiles, final MoveSink sink) {
+		// Generate every kind of move for the wanted pieces
+		return generateMoves(alliance, pieceTiles, false, sink);
+	}
+	
+	// Method to pass the moves that follow the piece rules of the color's pieces standing on a bitboard of tiles to a sink -
+	// only captures and promotions if asked
+	private boolean generateMoves(final Alliance alliance, final long pieceTiles, final boolean capturesOnly, final MoveSink sink) {
+		// Variable to store the tiles of the wanted pieces
+		long remainingPieces = pieceTiles & getOccupancy(alliance);
+		
+		// Loop through the color's pieces from the lowest tile up
+		while (remainingPieces != 0) {
+			
+			// Pass the moves of the piece on the lowest tile to the sink
+			if (!generatePieceMoves(this.boardConfiguration[Long.numberOfTrailingZeros(remainingPieces)], capturesOnly, sink)) {
+				// Return false - the sink has stopped the generation
+				return false;
+			}
+			// Clear the lowest tile
+			remainingPieces &= remainingPieces - 1;
+		}
+		// Return true - every move was passed on
+		return true;
+	}
+	
+	
+	
+	// Method to pass the moves of a color that don't leave its king attacked to a sink as they are made - worked out from the
+	// checkers and pinned pieces up front so no board has to be built to test a move. Castling isn't included. Returns false
+	// if the sink stopped the generation early
+	public boolean generateLegalMoves(final Alliance alliance, final MoveSink sink) {
+		// Generate the legal moves of every piece of the color
+		return generateLegalMoves(alliance, getOccupancy(alliance), sink);
+	}
+	
+	// Method to pass the legal moves of only the color's pieces standing on a bitboard of tiles to a sink - castling isn't
+	// included. Returns false if the sink stopped the generation early
+	public boolean generateLegalMoves(final Alliance alliance, final long pieceTiles, final MoveSink sink) {
+		// Generate every kind of legal move for the wanted pieces
+		return generateLegalMoves(alliance, pieceTiles, false, sink);
+	}
+	
+	// Method to pass the legal captures and pawn promotions of a color to a sink as they are made - quiet moves are never
+	// generated. Returns false if the sink stopped the generation early
+	public boolean generateLegalCaptures(final Alliance alliance, final MoveSink sink) {
+		// Generate only the legal captures and promotions of every piece of the color
+		return generateLegalMoves(alliance, getOccupancy(alliance), true, sink);
+	}
+	
+	// Method to pass the legal moves of a color that give check to a sink as they are made, castles included - only the
+	// pieces that can land on a checking tile or uncover a slider are generated. Returns false if the sink stopped the
+	// generation early
+	public boolean generateLegalChecks(final Alliance alliance, final MoveSink sink) {
+		// Variables to store the opponent's color and the bitboard of its king
+		final Alliance opponentAlliance = alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+		final long kingBitboard = this.pieceBitboards[BoardUtils.getBitboardIndex(opponentAlliance, PieceType.KING)];
+		
+		// Check that there is exactly one king to check
+		if (Long.bitCount(kingBitboard) != 1) {
+			// Return true - there is no king to check, so no moves to pass on
+			return true;
+		}
+		// Variable to store the tile of the opponent's king
+		final int kingCoordinate = Long.numberOfTrailingZeros(kingBitboard);
+		// Array to store the tiles a piece of each type checks the king from - the tiles the king would attack as that piece,
+		// with a pawn's taken from the king's side. A king never checks
+		final long[] checkingTiles = new long[PIECE_TYPES.length];
+		
+		// Loop through the piece types other than the king
+		for (final PieceType pieceType : PIECE_TYPES) {
+			
+			// Check if the piece type isn't the king
+			if (pieceType != PieceType.KING) {
+				// Set the tiles the piece type checks from
+				checkingTiles[pieceType.ordinal()] = calculatePieceAttacks(pieceType, opponentAlliance, kingCoordinate, this.occupancy);
+			}
+		}
+		// Variable to store the color's pieces that are the only thing between one of its sliders and the king - moving one
+		// off the line uncovers a check
+		final long discoveringPieces = calculateBlockers(kingCoordinate, alliance, alliance);
+		// Variable to store the tiles of the pieces whose moves are checked move by move - the ones that can uncover a check,
+		// and the pawns that can promote or take en passant, as the piece on the destination or the tiles left aren't the usual ones
+		long exactTiles = discoveringPieces;
+		// Variable to store the tiles of the pieces that can give check
+		long candidateTiles = discoveringPieces;
+		
+		// Loop through the color's pieces other than the king - a king can only uncover a check
+		for (long pieces = getOccupancy(alliance) & ~this.pieceBitboards[BoardUtils.getBitboardIndex(alliance, PieceType.KING)];
+			 pieces != 0; pieces &= pieces - 1) {
+			// Variables to store the tile and type of the piece
+			final int coordinate = Long.numberOfTrailingZeros(pieces);
+			final PieceType pieceType = this.boardConfiguration[coordinate].getPieceType();
+			
+			// Check if the piece is a pawn that promotes or takes en passant with its next move
+			if (pieceType == PieceType.PAWN && (isPawnOnPromotionRank(alliance, coordinate) || canCaptureEnPassant(alliance, coordinate))) {
+				// Add the pawn to the pieces checked move by move
+				exactTiles |= BoardUtils.getTileBit(coordinate);
+				candidateTiles |= BoardUtils.getTileBit(coordinate);
+				
+			// Check if the piece reaches a tile it would check the king from
+			} else if ((calculatePieceReach(pieceType, alliance, coordinate) & checkingTiles[pieceType.ordinal()]) != 0) {
+				// Add the piece to the pieces that can give check
+				candidateTiles |= BoardUtils.getTileBit(coordinate);
+			}
+		}
+		// Variable to store the tiles of the pieces checked move by move, so the sink can see it
+		final long exactMoveTiles = exactTiles;
+		
+		// Generate the legal moves of only the pieces that can give check, and pass on the ones that do
+		if (!generateLegalMoves(alliance, candidateTiles, new MoveSink() {
+			
+			// Override the accept method to drop the moves that don't give check
+			@Override
+			public boolean accept(final Move move) {
+				// Variable to store if the move gives check - a plain move checks if it lands on a checking tile for its piece
+				final boolean isCheck = (exactMoveTiles & BoardUtils.getTileBit(move.getCurrentCoordinate())) != 0 ? givesCheck(move) :
+										(checkingTiles[move.getMovedPiece().getPieceType().ordinal()] &
+										 BoardUtils.getTileBit(move.getDestinationCoordinate())) != 0;
+				// Keep going past a move that doesn't give check, otherwise let the caller's sink decide
+				return !isCheck || sink.accept(move);
+			}
+		})) {
+			// Return false - the sink has stopped the generation
+			return false;
+		}
+		
+		// Loop through the color's castles - the rook gives check from its destination tile
+		for (final Move move : (alliance.isWhite() ? this.whitePlayer : this.blackPlayer).getKingCastles()) {
+			
+			// Pass the castle to the sink if it gives check
+			if (givesCheck(move) && !sink.accept(move)) {
+				// Return false - the sink has stopped the generation
+				return false;
+			}
+		}
+		// Return true - every move that gives check was passed on
+		return true;
+	}
+	
+	
+	
+	// Method to work out the tiles a piece could move to with the board's occupancy - a pawn's steps forward as well as its
+	// attacks
+	private long calculatePieceReach(final PieceType pieceType, final Alliance alliance, final int coordinate) {
+		
+		// Check if the piece isn't a pawn
+		if (pieceType != PieceType.PAWN) {
+			// Return the tiles the piece attacks
+			return calculatePieceAttacks(pieceType, alliance, coordinate, this.occupancy);
+		}
+		// Variables to store the tiles one and two steps in front of the pawn
+		final int forwardCoordinate = coordinate + (alliance.getDirection() * 8);
+		final int jumpCoordinate = coordinate + (alliance.getDirection() * 16);
+		// Return the tiles the pawn attacks and the tiles in front of it
+		return BoardUtils.getPawnAttacks(alliance, coordinate) | BoardUtils.getTileBit(forwardCoordinate) |
+			   (BoardUtils.isValidTileCoordinate(jumpCoordinate) ? BoardUtils.getTileBit(jumpCoordinate) : 0L);
+	}
+	
+	
+	
+	// Method to check if a pawn of a color is one step from its last rank
+	private static boolean isPawnOnPromotionRank(final Alliance alliance, final int coordinate) {
+		// Return true if the pawn is on the seventh rank for white or the second for black
+		return alliance.isWhite() ? BoardUtils.SEVENTH_RANK[coordinate] : BoardUtils.SECOND_RANK[coordinate];
+	}
+	
+	
+	
+	// Method to check if a pawn of a color attacks the tile the opponent's en passant pawn jumped over
+	private boolean canCaptureEnPassant(final Alliance alliance, final int coordinate) {
+		// Return true if there is an opponent's en passant pawn and the pawn attacks the tile behind it
+		return this.enPassantPawn != null && this.enPassantPawn.getPieceAlliance() != alliance &&
+			   (BoardUtils.getPawnAttacks(alliance, coordinate) &
+				BoardUtils.getTileBit(this.enPassantPawn.getPiecePosition() + (alliance.getDirection() * 8))) != 0;
+	}
+	
+	
+	
+	// Method to pass the legal moves of the color's pieces standing on a bitboard of tiles to a sink - only captures and
+	// promotions if asked
+	private boolean generateLegalMoves(final Alliance alliance, final long pieceTiles, final boolean capturesOnly, final MoveSink sink) {
+		// Variable to store the bitboard of the color's king
+		final long kingBitboard = this.pieceBitboards[BoardUtils.getBitboardIndex(alliance, PieceType.KING)];
+		
+		// Check that there is exactly one king - the player will reject the board otherwise
+		if (Long.bitCount(kingBitboard) != 1) {
+			// Pass every move of the wanted pieces unfiltered
+			return generateMoves(alliance, pieceTiles, capturesOnly, sink);
+		}
+		// Variables to store the king's tile and the opponent's color
+		final int kingCoordinate = Long.numberOfTrailingZeros(kingBitboard);
+		final Alliance opponentAlliance = alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+		// Variable to store the tiles a piece other than the king can move to
+		final long checkMask = calculateCheckMask(kingCoordinate, opponentAlliance);
+		// Variable to store the color's pieces that are pinned to the king
+		final long pinnedPieces = calculatePinnedPieces(kingCoordinate, alliance, opponentAlliance);
+		// Sink that only passes on the moves that leave the king safe
+		final MoveSink legalSink = new MoveSink() {
+			
+			// Override the accept method to drop the moves that leave the king attacked
+			@Override
+			public boolean accept(final Move move) {
+				// Keep going past an illegal move, otherwise let the caller's sink decide
+				return !isLegalMove(move, kingCoordinate, opponentAlliance, checkMask, pinnedPieces) || sink.accept(move);
+			}
+		};
+		
+		// Variable to store the tiles of the wanted pieces - only the king can move out of double check
+		long remainingPieces = pieceTiles & (checkMask == 0 ? kingBitboard : getOccupancy(alliance));
+		
+		// Loop through the wanted pieces from the lowest tile up
+		while (remainingPieces != 0) {
+			
+			// Pass the legal moves of the piece on the lowest tile to the sink
+			if (!generatePieceMoves(this.boardConfiguration[Long.numberOfTrailingZeros(remainingPieces)], capturesOnly, legalSink)) {
+				// Return false - the sink has stopped the generation
+				return false;
+			}
+			// Clear the lowest tile
+			remainingPieces &= remainingPieces - 1;
+		}
+		// Return true - every legal move was passed on
+		return true;
+	}
+	
+	
+	
+	// Method to pass a piece's moves to a sink - only its captures and promotions if asked
+	private boolean generatePieceMoves(final Piece piece, final boolean capturesOnly, final MoveSink sink) {
+		// Return the result of the piece's generate captures or generate moves method
+		return capturesOnly ? piece.generateCaptures(this, sink) : piece.generateMoves(this, sink);
+	}
+	
+	
+	
+	// Method to check if a move made on this board would put the opponent's king in check - worked out from bitboards so no
+	// board has to be built. A check comes either straight from the moved piece or from a slider it uncovers
+	public boolean givesCheck(final Move move) {
+		// Variables to store the color making the move and the bitboard of the opponent's king
+		final Alliance alliance = move.getMovedPiece().getPieceAlliance();
+		final Alliance opponentAlliance = alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+		final long kingBitboard = this.pieceBitboards[BoardUtils.getBitboardIndex(opponentAlliance, PieceType.KING)];
+		
+		// Check that there is exactly one king to check
+		if (Long.bitCount(kingBitboard) != 1) {
+			// Return false - there is no king to check
+			return false;
+		}
+		// Variable to store the tile of the opponent's king
+		final int kingCoordinate = Long.numberOfTrailingZeros(kingBitboard);
+		// Variables to store the bits of the tiles the moved piece leaves and lands on
+		final long currentBit = BoardUtils.getTileBit(move.getCurrentCoordinate());
+		final long destinationBit = BoardUtils.getTileBit(move.getDestinationCoordinate());
+		// Variable to store the tiles the pieces of the color could check from once the moved piece has left its tile
+		long checkingTiles = getOccupancy(alliance) & ~currentBit;
+		// Variable to store the occupancy after the move
+		long occupancy = (this.occupancy & ~currentBit) | destinationBit;
+		// Variable to store the type of the piece on the destination tile - a promoted pawn is the piece it becomes
+		final PieceType pieceType = move.isPawnPromotion() ? ((Move.PawnPromotion) move).getPromotionPieceType() : move.getMovedPiece().getPieceType();
+		
+		// Check if the move is an en passant capture
+		if (move instanceof Move.PawnEnPassantAttackMove) {
+			// The taken pawn leaves a tile that isn't the destination
+			occupancy &= ~BoardUtils.getTileBit(move.getAttackedPiece().getPiecePosition());
+		}
+		
+		// Check if the move is a castle
+		if (move.isCastlingMove()) {
+			// Variable to store the castle move
+			final Move.CastleMove castleMove = (Move.CastleMove) move;
+			// The rook moves as well - it can only check from its destination tile
+			occupancy = (occupancy & ~BoardUtils.getTileBit(castleMove.castleRookStart)) | BoardUtils.getTileBit(castleMove.castleRookDestination);
+			checkingTiles &= ~BoardUtils.getTileBit(castleMove.castleRookStart);
+			
+			// Check if the rook attacks the king from its destination tile
+			if ((MagicBitboards.getRookAttacks(castleMove.castleRookDestination, occupancy) & kingBitboard) != 0) {
+				// Return true - the rook gives check
+				return true;
+			}
+		}
+		
+		// Check if the moved piece attacks the king from its destination tile
+		if ((calculatePieceAttacks(pieceType, alliance, move.getDestinationCoordinate(), occupancy) & kingBitboard) != 0) {
+			// Return true - the moved piece gives check
+			return true;
+		}
+		// Variables to store the color's sliding pieces that are still on their tiles - queens attack along both kinds of ray
+		final long queens = this.pieceBitboards[BoardUtils.getBitboardIndex(alliance, PieceType.QUEEN)];
+		final long diagonalSliders = (this.pieceBitboards[BoardUtils.getBitboardIndex(alliance, PieceType.BISHOP)] | queens) & checkingTiles;
+		final long straightSliders = (this.pieceBitboards[BoardUtils.getBitboardIndex(alliance, PieceType.ROOK)] | queens) & checkingTiles;
+		
+		// Return true if a slider sees the king once the moved piece is out of the way
+		return (MagicBitboards.getBishopAttacks(kingCoordinate, occupancy) & diagonalSliders) != 0 ||
+			   (MagicBitboards.getRookAttacks(kingCoordinate, occupancy) & straightSliders) != 0;
+	}
+	
+	
+	
+	// Method to work out the tiles a piece of a type attacks from a tile given the occupancy
+	private static long calculatePieceAttacks(final PieceType pieceType, final Alliance alliance, final int coordinate, final long occupancy) {
 		
-		// Loop through all the pieces in the collection
-		for (final Piece piece : pieces) {
-			// Calculate the legal moves for each piece and add to the legal moves array list
-			legalMoves.addAll(piece.calculateLegalMoves(this));
+		// Look up the attacks for the piece type
+		switch (pieceType) {
+			case PAWN:
+				return BoardUtils.getPawnAttacks(alliance, coordinate);
+			case KNIGHT:
+				return BoardUtils.KNIGHT_ATTACKS[coordinate];
+			case BISHOP:
+				return MagicBitboards.getBishopAttacks(coordinate, occupancy);
+			case ROOK:
+				return MagicBitboards.getRookAttacks(coordinate, occupancy);
+			case QUEEN:
+				return MagicBitboards.getQueenAttacks(coordinate, occupancy);
+			default:
+				return BoardUtils.KING_ATTACKS[coordinate];
 		}
-		// Return an immutable list of all the legal moves possible for a color
-		return ImmutableList.copyOf(legalMoves);
+	}
+	
+	
+	
+	// Method to check if a color has at least one legal move - stops at the first one found without building the move list
+	public boolean hasLegalMoves(final Alliance alliance) {
+		// Variable to store the legal moves if they have already been worked out
+		final Collection<Move> standardLegalMoves = alliance.isWhite() ? this.whiteStandardLegalMoves : this.blackStandardLegalMoves;
+		
+		// Check if the legal moves are already known
+		if (standardLegalMoves != null) {
+			// Return true if the list of legal moves isn't empty
+			return !standardLegalMoves.isEmpty();
+		}
+		// Variable to store the bitboard of the color's king
+		final long kingBitboard = this.pieceBitboards[BoardUtils.getBitboardIndex(alliance, PieceType.KING)];
+		
+		// Check if there is exactly one king
+		if (Long.bitCount(kingBitboard) == 1) {
+			// Variables to store the king's tile and the opponent's color
+			final int kingCoordinate = Long.numberOfTrailingZeros(kingBitboard);
+			final Alliance opponentAlliance = alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+			// Variable to store the tiles the king could step to - castling never needs checking as a legal castle means the
+			// king could also step to the tile next to it
+			long kingDestinations = BoardUtils.KING_ATTACKS[kingCoordinate] & ~getOccupancy(alliance);
+			
+			// Loop through the king's destination tiles first - the cheapest escapes to test
+			while (kingDestinations != 0) {
+				
+				// Check if the tile is safe once the king has left its own tile
+				if (BoardUtils.calculateAttackers(Long.numberOfTrailingZeros(kingDestinations), opponentAlliance, this.pieceBitboards,
+												  this.occupancy ^ kingBitboard) == 0) {
+					// Return true - the king can move
+					return true;
+				}
+				// Clear the lowest destination tile
+				kingDestinations &= kingDestinations - 1;
+			}
+		}
+		// Return true if the generation of legal moves is stopped by the first one found
+		return !generateLegalMoves(alliance, new MoveSink() {
+			
+			// Override the accept method to stop at the first move
+			@Override
+			public boolean accept(final Move move) {
+				// Return false - one legal move is enough
+				return false;
+			}
+		});
+	}
+	
+	
+	
+	// Method to work out the tiles a piece other than the king can move to - anywhere when not in check, on the checker or
+	// between it and the king when in check once, and nowhere when in double check
+	private long calculateCheckMask(final int kingCoordinate, final Alliance opponentAlliance) {
+		// Variable to store the opponent's pieces that attack the king
+		final long checkers = attackersTo(kingCoordinate) & getOccupancy(opponentAlliance);
+		// Return the tiles that deal with the check
+		return checkers == 0 ? -1L : Long.bitCount(checkers) > 1 ? 0L :
+			   checkers | MagicBitboards.getTilesBetween(kingCoordinate, Long.numberOfTrailingZeros(checkers));
+	}
+	
+	
+	
+	// Method to check if a standard move leaves its king safe given the check mask and pinned pieces
+	private boolean isLegalMove(final Move move, final int kingCoordinate, final Alliance opponentAlliance, final long checkMask,
+								final long pinnedPieces) {
+		// Variables to store the source tile and the bit for the destination tile
+		final int currentCoordinate = move.getCurrentCoordinate();
+		final long destinationBit = BoardUtils.getTileBit(move.getDestinationCoordinate());
+		
+		// Check what kind of move it is
+		if (currentCoordinate == kingCoordinate) {
+			// Return true if the destination isn't attacked once the king has left its tile - so it can't step back along a checking ray
+			return BoardUtils.calculateAttackers(move.getDestinationCoordinate(), opponentAlliance, this.pieceBitboards,
+												 this.occupancy ^ BoardUtils.getTileBit(kingCoordinate)) == 0;
+		} else if (move instanceof Move.PawnEnPassantAttackMove) {
+			// Return true if the en passant capture leaves the king safe - two pawns leave the rank at once so it is tested directly
+			return isEnPassantLegal(move, kingCoordinate, opponentAlliance);
+		}
+		// Return true if the move deals with any check and a pinned piece stays on its pin line
+		return (destinationBit & checkMask) != 0 && ((pinnedPieces & BoardUtils.getTileBit(currentCoordinate)) == 0 ||
+			   (MagicBitboards.getTilesOnLine(kingCoordinate, currentCoordinate) & destinationBit) != 0);
+	}
+	
+	
+	
+	// Method to find the pieces of a color that can't leave the line between their king and an enemy sliding piece
+	private long calculatePinnedPieces(final int kingCoordinate, final Alliance alliance, final Alliance opponentAlliance) {
+		// Return the color's pieces that stand alone between an opponent's slider and the king
+		return calculateBlockers(kingCoordinate, opponentAlliance, alliance);
+	}
+	
+	
+	
+	// Method to work out the pieces of a blocking color that are the only piece between a slider of another color and a king -
+	// the rays see through the blocking color's pieces and stop at the other color's. The pieces pinned to a king when the
+	// sliders are the opponent's, or the pieces that uncover a check when they are the blocking color's own
+	private long calculateBlockers(final int kingCoordinate, final Alliance sliderAlliance, final Alliance blockerAlliance) {
+		// Variables to store the sliding pieces - queens line up along both kinds of ray
+		final long queens = this.pieceBitboards[BoardUtils.getBitboardIndex(sliderAlliance, PieceType.QUEEN)];
+		final long diagonalSliders = this.pieceBitboards[BoardUtils.getBitboardIndex(sliderAlliance, PieceType.BISHOP)] | queens;
+		final long straightSliders = this.pieceBitboards[BoardUtils.getBitboardIndex(sliderAlliance, PieceType.ROOK)] | queens;
+		// Variable to store the occupancy that stops the rays - only the pieces of the color that isn't blocking
+		final long rayOccupancy = getOccupancy(blockerAlliance.isWhite() ? Alliance.BLACK : Alliance.WHITE);
+		// Variable to store the sliding pieces that would attack the king if the blocking color's pieces were removed
+		long sliders = (MagicBitboards.getBishopAttacks(kingCoordinate, rayOccupancy) & diagonalSliders) |
+					   (MagicBitboards.getRookAttacks(kingCoordinate, rayOccupancy) & straightSliders);
+		// Variable to store the blocking pieces
+		long blockers = 0L;
+		
+		// Loop through the sliders
+		while (sliders != 0) {
+			// Variable to store the pieces between the king and the slider
+			final long piecesBetween = MagicBitboards.getTilesBetween(kingCoordinate, Long.numberOfTrailingZeros(sliders)) & this.occupancy;
+			
+			// Check if exactly one piece stands in the way - it must be the blocking color's as the other pieces stopped the ray
+			if (Long.bitCount(piecesBetween) == 1) {
+				// Add the piece to the blockers
+				blockers |= piecesBetween;
+			}
+			// Clear the lowest slider
+			sliders &= sliders - 1;
+		}
+		// Return the blocking pieces
+		return blockers & getOccupancy(blockerAlliance);
+	}
+	
+	
+	
+	// Method to check if an en passant capture leaves the capturing color's king safe
+	private boolean isEnPassantLegal(final Move move, final int kingCoordinate, final Alliance opponentAlliance) {
+		// Variables to store the bits of the moving pawn's source and destination and of the captured pawn
+		final long currentBit = BoardUtils.getTileBit(move.getCurrentCoordinate());
+		final long destinationBit = BoardUtils.getTileBit(move.getDestinationCoordinate());
+		final long capturedBit = BoardUtils.getTileBit(move.getAttackedPiece().getPiecePosition());
+		// Copy of the piece bitboards with the capture made on them
+		final long[] pieceBitboards = this.pieceBitboards.clone();
+		pieceBitboards[BoardUtils.getBitboardIndex(move.getMovedPiece().getPieceAlliance(), PieceType.PAWN)] ^= currentBit | destinationBit;
+		pieceBitboards[BoardUtils.getBitboardIndex(opponentAlliance, PieceType.PAWN)] ^= capturedBit;
+		
+		// Return true if nothing attacks the king after the capture
+		return BoardUtils.calculateAttackers(kingCoordinate, opponentAlliance, pieceBitboards,
+											 (this.occupancy ^ currentBit ^ capturedBit) | destinationBit) == 0;
 	}
 
 
 
 	// Method to calculate the active pieces left on the board
-	private static Collection<Piece> calculateActivePieces(final List<Tile> gameBoard, final Alliance alliance) {
+	private static Collection<Piece> calculateActivePieces(final Piece[] boardConfiguration, final long allianceOccupancy) {
 		// Array list to store all the active pieces
-		final List<Piece> activePieces = new ArrayList<>();
+		final List<Piece> activePieces = new ArrayList<>(Long.bitCount(allianceOccupancy));
+		// Copy of the occupancy bitboard so each set bit can be cleared as it is visited
+		long remainingTiles = allianceOccupancy;
 		
-		// Loop through all the tiles on the game board
-		for (final Tile tile : gameBoard) {
-			
-			// Check if the tile is occupied
-			if (tile.isTileOccupied()) {
-				// Create a piece with the value of the piece occupying the tile
-				final Piece piece = tile.getPiece();
-				
-				// Check if it is the same alliance
-				if (piece.getPieceAlliance() == alliance) {
-					// Add it to the active pieces array list
-					activePieces.add(piece);
-				}
-			}
+		// Loop through the occupied tiles only - no need to visit the empty ones
+		while (remainingTiles != 0) {
+			// Add the piece on the lowest occupied tile to the active pieces array list
+			activePieces.add(boardConfiguration[Long.numberOfTrailingZeros(remainingTiles)]);
+			// Clear the lowest occupied tile
+			remainingTiles &= remainingTiles - 1;
 		}
 		// Return an immutable list of the active pieces
 		return ImmutableList.copyOf(activePieces);
@@ -175,26 +818,95 @@ public class Board {
 	
 	
 	
+	// Method to combine all the piece bitboards of a color into one occupancy bitboard
+	private static long calculateOccupancy(final long[] pieceBitboards, final Alliance alliance) {
+		// Variable to store the occupancy bitboard
+		long allianceOccupancy = 0L;
+		
+		// Loop through all the piece types
+		for (final PieceType pieceType : PieceType.values()) {
+			// Add the tiles occupied by the piece type to the occupancy bitboard
+			allianceOccupancy |= pieceBitboards[BoardUtils.getBitboardIndex(alliance, pieceType)];
+		}
+		// Return the occupancy bitboard
+		return allianceOccupancy;
+	}
+	
+	
+	
 	// Getter method for tiles
 	public Tile getTile(final int tileCoordinate) {
-		// Return a tile from the game board
-		return gameBoard.get(tileCoordinate);
+		// Return the cached tile for the piece on the tile - no tile is created
+		return Tile.createTile(tileCoordinate, this.boardConfiguration[tileCoordinate]);
 	}
 	
+	// Getter method for the piece on a tile - returns null for an empty tile
+	public Piece getPiece(final int tileCoordinate) {
+		// Return the piece from the board configuration array
+		return this.boardConfiguration[tileCoordinate];
+	}
 	
+	// Method to check if a tile is occupied using the occupancy bitboard
+	public boolean isTileOccupied(final int tileCoordinate) {
+		// Return true if the bit for the tile is set
+		return (this.occupancy & BoardUtils.getTileBit(tileCoordinate)) != 0;
+	}
 	
-	// Method to create a chess game board
-	private static List<Tile> createGameBoard(final Builder builder) {
-		// Create an array of 64 tiles
-		final Tile[] tiles = new Tile[BoardUtils.NUM_TILES];
-		
-		// Loop through all the tiles in the array
-		for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
-			// Create a tile with the piece associated with it from the board configuration map
-			tiles[i] = Tile.createTile(i, builder.boardConfig.get(i));
-		}
-		// Return an immutable list of the 64 tiles
-		return ImmutableList.copyOf(tiles);
+	
+	
+	// Method to find every piece of either color that attacks a tile
+	public long attackersTo(final int tileCoordinate) {
+		// Return the white and black attackers together
+		return BoardUtils.calculateAttackers(tileCoordinate, Alliance.WHITE, this.pieceBitboards, this.occupancy) |
+			   BoardUtils.calculateAttackers(tileCoordinate, Alliance.BLACK, this.pieceBitboards, this.occupancy);
+	}
+	
+	// Method to check if any piece of a color attacks a tile
+	public boolean isSquareAttacked(final int tileCoordinate, final Alliance attackingAlliance) {
+		// Return true if the attack tables find at least one attacker of the color
+		return BoardUtils.calculateAttackers(tileCoordinate, attackingAlliance, this.pieceBitboards, this.occupancy) != 0;
+	}
+	
+	
+	
+	// Getter method for the bitboard of a piece type of one color
+	public long getPieceBitboard(final Alliance alliance, final PieceType pieceType) {
+		// Return the bitboard for the alliance and piece type
+		return this.pieceBitboards[BoardUtils.getBitboardIndex(alliance, pieceType)];
+	}
+	
+	// Getter method for the bitboard of all the tiles occupied by one color
+	public long getOccupancy(final Alliance alliance) {
+		// Return the white or black occupancy bitboard
+		return alliance.isWhite() ? this.whiteOccupancy : this.blackOccupancy;
+	}
+	
+	// Getter method for the bitboard of all the occupied tiles
+	public long getOccupancy() {
+		// Return the occupancy bitboard
+		return this.occupancy;
+	}
+	
+	
+	
+	// Method to work out the castling rights of a board from its kings and rooks
+	private static int calculateCastlingRights(final Piece[] boardConfiguration) {
+		// Return a bit for each king and rook pair that are both still on their first move
+		return (hasCastlingPieces(boardConfiguration, Alliance.WHITE, 60, 63) ? BoardUtils.WHITE_KING_SIDE_CASTLE : 0) |
+			   (hasCastlingPieces(boardConfiguration, Alliance.WHITE, 60, 56) ? BoardUtils.WHITE_QUEEN_SIDE_CASTLE : 0) |
+			   (hasCastlingPieces(boardConfiguration, Alliance.BLACK, 4, 7) ? BoardUtils.BLACK_KING_SIDE_CASTLE : 0) |
+			   (hasCastlingPieces(boardConfiguration, Alliance.BLACK, 4, 0) ? BoardUtils.BLACK_QUEEN_SIDE_CASTLE : 0);
+	}
+	
+	// Method to check if a king and rook of a color are on their home tiles and haven't moved
+	private static boolean hasCastlingPieces(final Piece[] boardConfiguration, final Alliance alliance, final int kingCoordinate,
+											 final int rookCoordinate) {
+		// Variables to store the pieces on the king and rook tiles
+		final Piece king = boardConfiguration[kingCoordinate];
+		final Piece rook = boardConfiguration[rookCoordinate];
+		// Return true if both are the right pieces of the color and still on their first move
+		return king != null && king.getPieceType().isKing() && king.getPieceAlliance() == alliance && king.isFirstMove() &&
+			   rook != null && rook.getPieceType().isRook() && rook.getPieceAlliance() == alliance && rook.isFirstMove();
 	}
 	
 	
@@ -202,44 +914,44 @@ public class Board {
 	// Method to create a standard chess board with pieces in their starting positions
 	public static Board createStandardBoard() {
 		
-		// Initialize a new builder
+		// Initialize a new builder - the pieces are the shared instances on their first move
 		final Builder builder = new Builder();
 		
 		// Black layout
-		builder.setPiece(new Rook(Alliance.BLACK, 0));
-		builder.setPiece(new Knight(Alliance.BLACK, 1));
-		builder.setPiece(new Bishop(Alliance.BLACK, 2));
-		builder.setPiece(new Queen(Alliance.BLACK, 3));
-		builder.setPiece(new King(Alliance.BLACK, 4));
-		builder.setPiece(new Bishop(Alliance.BLACK, 5));
-		builder.setPiece(new Knight(Alliance.BLACK, 6));
-		builder.setPiece(new Rook(Alliance.BLACK, 7));
-		builder.setPiece(new Pawn(Alliance.BLACK, 8));
-		builder.setPiece(new Pawn(Alliance.BLACK, 9));
-		builder.setPiece(new Pawn(Alliance.BLACK, 10));
-		builder.setPiece(new Pawn(Alliance.BLACK, 11));
-		builder.setPiece(new Pawn(Alliance.BLACK, 12));
-		builder.setPiece(new Pawn(Alliance.BLACK, 13));
-		builder.setPiece(new Pawn(Alliance.BLACK, 14));
-		builder.setPiece(new Pawn(Alliance.BLACK, 15));
+		builder.setPiece(PieceUtils.getRook(Alliance.BLACK, 0, true));
+		builder.setPiece(PieceUtils.getKnight(Alliance.BLACK, 1, true));
+		builder.setPiece(PieceUtils.getBishop(Alliance.BLACK, 2, true));
+		builder.setPiece(PieceUtils.getQueen(Alliance.BLACK, 3, true));
+		builder.setPiece(PieceUtils.getKing(Alliance.BLACK, 4, true));
+		builder.setPiece(PieceUtils.getBishop(Alliance.BLACK, 5, true));
+		builder.setPiece(PieceUtils.getKnight(Alliance.BLACK, 6, true));
+		builder.setPiece(PieceUtils.getRook(Alliance.BLACK, 7, true));
+		builder.setPiece(PieceUtils.getPawn(Alliance.BLACK, 8, true));
+		builder.setPiece(PieceUtils.getPawn(Alliance.BLACK, 9, true));
+		builder.setPiece(PieceUtils.getPawn(Alliance.BLACK, 10, true));
+		builder.setPiece(PieceUtils.getPawn(Alliance.BLACK, 11, true));
+		builder.setPiece(PieceUtils.getPawn(Alliance.BLACK, 12, true));
+		builder.setPiece(PieceUtils.getPawn(Alliance.BLACK, 13, true));
+		builder.setPiece(PieceUtils.getPawn(Alliance.BLACK, 14, true));
+		builder.setPiece(PieceUtils.getPawn(Alliance.BLACK, 15, true));
 		
 		// White layout
-		builder.setPiece(new Pawn(Alliance.WHITE, 48));
-		builder.setPiece(new Pawn(Alliance.WHITE, 49));
-		builder.setPiece(new Pawn(Alliance.WHITE, 50));
-		builder.setPiece(new Pawn(Alliance.WHITE, 51));
-		builder.setPiece(new Pawn(Alliance.WHITE, 52));
-		builder.setPiece(new Pawn(Alliance.WHITE, 53));
-		builder.setPiece(new Pawn(Alliance.WHITE, 54));
-		builder.setPiece(new Pawn(Alliance.WHITE, 55));
-		builder.setPiece(new Rook(Alliance.WHITE, 56));
-		builder.setPiece(new Knight(Alliance.WHITE, 57));
-		builder.setPiece(new Bishop(Alliance.WHITE, 58));
-		builder.setPiece(new Queen(Alliance.WHITE, 59));
-		builder.setPiece(new King(Alliance.WHITE, 60));
-		builder.setPiece(new Bishop(Alliance.WHITE, 61));
-		builder.setPiece(new Knight(Alliance.WHITE, 62));
-		builder.setPiece(new Rook(Alliance.WHITE, 63));
+		builder.setPiece(PieceUtils.getPawn(Alliance.WHITE, 48, true));
+		builder.setPiece(PieceUtils.getPawn(Alliance.WHITE, 49, true));
+		builder.setPiece(PieceUtils.getPawn(Alliance.WHITE, 50, true));
+		builder.setPiece(PieceUtils.getPawn(Alliance.WHITE, 51, true));
+		builder.setPiece(PieceUtils.getPawn(Alliance.WHITE, 52, true));
+		builder.setPiece(PieceUtils.getPawn(Alliance.WHITE, 53, true));
+		builder.setPiece(PieceUtils.getPawn(Alliance.WHITE, 54, true));
+		builder.setPiece(PieceUtils.getPawn(Alliance.WHITE, 55, true));
+		builder.setPiece(PieceUtils.getRook(Alliance.WHITE, 56, true));
+		builder.setPiece(PieceUtils.getKnight(Alliance.WHITE, 57, true));
+		builder.setPiece(PieceUtils.getBishop(Alliance.WHITE, 58, true));
+		builder.setPiece(PieceUtils.getQueen(Alliance.WHITE, 59, true));
+		builder.setPiece(PieceUtils.getKing(Alliance.WHITE, 60, true));
+		builder.setPiece(PieceUtils.getBishop(Alliance.WHITE, 61, true));
+		builder.setPiece(PieceUtils.getKnight(Alliance.WHITE, 62, true));
+		builder.setPiece(PieceUtils.getRook(Alliance.WHITE, 63, true));
 		
 		// Set white to move first
 		builder.setMoveMaker(Alliance.WHITE);
@@ -261,8 +973,12 @@ public class Board {
 	// Builder class to build an instance of a board
 	public static class Builder {
 		
-		// Map tile IDs to a given piece
-		Map<Integer, Piece> boardConfig;
+		// Array to store the piece on each tile and a bitboard for each alliance and piece type - kept in step with each other
+		final Piece[] boardConfig;
+		final long[] pieceBitboards;
+		// Running totals of the piece values and piece square bonuses of each color - kept in step with the pieces
+		final int[] material;
+		final int[] pieceSquareScores;
 		
 		// Variable to store who has the next move
 		Alliance nextMoveMaker;
@@ -270,20 +986,81 @@ public class Board {
 		// Declare an en passant pawn
 		Pawn enPassantPawn;
 		
+		// Variable to store the castling rights left after the move that built the board - null to work them out from the pieces
+		Integer castlingRights;
+		// Variable to store the zobrist key worked out by the move that built the board - null to hash the board from scratch
+		Long zobristKey;
+		// Variable to store if the board has been built - the board owns the builder's arrays from then on
+		private boolean isBuilt;
+		
 		
 		
 		// Constructor
 		public Builder() {
-			// Declare the board configuration variable
-			this.boardConfig = new HashMap<>();
+			// Declare the board configuration and piece bitboards with every tile empty
+			this.boardConfig = new Piece[BoardUtils.NUM_TILES];
+			this.pieceBitboards = new long[BoardUtils.NUM_PIECE_BITBOARDS];
+			// Declare the totals for each color - nothing on the board yet
+			this.material = new int[Alliance.values().length];
+			this.pieceSquareScores = new int[Alliance.values().length];
 		}
 		
 		
 		
-		// Setter method for pieces
+		// Constructor that starts from the pieces of an existing board - a move then only sets the tiles it changes
+		public Builder(final Board board) {
+			// Call the empty builder constructor
+			this();
+			// Copy the board's pieces and bitboards in one go
+			System.arraycopy(board.boardConfiguration, 0, this.boardConfig, 0, BoardUtils.NUM_TILES);
+			System.arraycopy(board.pieceBitboards, 0, this.pieceBitboards, 0, BoardUtils.NUM_PIECE_BITBOARDS);
+			// Copy the board's totals - each tile the move changes then only adjusts them by the pieces involved
+			System.arraycopy(board.material, 0, this.material, 0, this.material.length);
+			System.arraycopy(board.pieceSquareScores, 0, this.pieceSquareScores, 0, this.pieceSquareScores.length);
+			// Carry the board's castling rights over - the move then only clears the ones it takes away
+			this.castlingRights = board.castlingRights;
+		}
+		
+		
+		
+		// Setter method for pieces - replaces any piece already on the tile
 		public Builder setPiece(final Piece piece) {
-			// Add the piece to the board configuration map
-			this.boardConfig.put(piece.getPiecePosition(), piece);
+			// Variable to store the tile of the piece
+			final int coordinate = piece.getPiecePosition();
+			// Empty the tile first
+			clearTile(coordinate);
+			// Add the piece to the board configuration array and its bitboard
+			this.boardConfig[coordinate] = piece;
+			this.pieceBitboards[BoardUtils.getBitboardIndex(piece.getPieceAlliance(), piece.getPieceType())] |= BoardUtils.getTileBit(coordinate);
+			// Add the piece to its color's totals
+			this.material[piece.getPieceAlliance().ordinal()] += piece.getPieceValue();
+			this.pieceSquareScores[piece.getPieceAlliance().ordinal()] +=
+					PieceSquareTables.getPieceSquareValue(piece.getPieceAlliance(), piece.getPieceType(), coordinate);
+			// Return the updated builder
+			return this;
+		}
+		
+		// Method to remove the piece on a tile, if there is one
+		public Builder clearTile(final int coordinate) {
+			
+			// Check if the board has already been built
+			if (this.isBuilt) {
+				// Throw a runtime exception error - the pieces belong to the built board
+				throw new RuntimeException("The board has already been built!");
+			}
+			// Variable to store the piece on the tile
+			final Piece piece = this.boardConfig[coordinate];
+			
+			// Check if the tile is occupied
+			if (piece != null) {
+				// Remove the piece from the board configuration array and its bitboard
+				this.boardConfig[coordinate] = null;
+				this.pieceBitboards[BoardUtils.getBitboardIndex(piece.getPieceAlliance(), piece.getPieceType())] &= ~BoardUtils.getTileBit(coordinate);
+				// Take the piece off its color's totals
+				this.material[piece.getPieceAlliance().ordinal()] -= piece.getPieceValue();
+				this.pieceSquareScores[piece.getPieceAlliance().ordinal()] -=
+						PieceSquareTables.getPieceSquareValue(piece.getPieceAlliance(), piece.getPieceType(), coordinate);
+			}
 			// Return the updated builder
 			return this;
 		}
@@ -298,8 +1075,17 @@ public class Board {
 		
 		
 		
-		// Method to build a new board
+		// Method to build a new board - the board takes over the builder's arrays rather than copying them, so a builder
+		// builds one board only
 		public Board build() {
+			
+			// Check if the board has already been built
+			if (this.isBuilt) {
+				// Throw a runtime exception error - a second board would share the first one's arrays
+				throw new RuntimeException("The board has already been built!");
+			}
+			// Mark the builder as built
+			this.isBuilt = true;
 			// Return an immutable board
 			return new Board(this);
 		}
@@ -310,5 +1096,21 @@ public class Board {
 			this.enPassantPawn = enPassantPawn;
 			
 		}
+		
+		// Setter method for the castling rights of the board being built
+		public Builder setCastlingRights(final int castlingRights) {
+			// Set the value of the castling rights
+			this.castlingRights = castlingRights;
+			// Return the updated builder
+			return this;
+		}
+		
+		// Setter method for the zobrist key of the board being built
+		public Builder setZobristKey(final long zobristKey) {
+			// Set the value of the zobrist key
+			this.zobristKey = zobristKey;
+			// Return the updated builder
+			return this;
+		}
 	}
 }
@@ -1,8 +1,11 @@
 package com.chess.engine.board;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece.PieceType;
 import com.google.common.collect.ImmutableMap;
 
 public class BoardUtils {
@@ -23,6 +26,14 @@ public class BoardUtils {
 	public static final boolean[] SECOND_RANK = initRow(48);
 	public static final boolean[] FIRST_RANK = initRow(56);
 	
+	// Bitboards of the tiles a knight, king or pawn attacks from each tile - built once so no edge checks run during move generation
+	public static final long[] KNIGHT_ATTACKS = initLeaperAttacks(new int[][] { { -2, -1 }, { -2, 1 }, { -1, -2 }, { -1, 2 },
+																				{ 1, -2 }, { 1, 2 }, { 2, -1 }, { 2, 1 } });
+	public static final long[] KING_ATTACKS = initLeaperAttacks(new int[][] { { -1, -1 }, { -1, 0 }, { -1, 1 }, { 0, -1 },
+																			  { 0, 1 }, { 1, -1 }, { 1, 0 }, { 1, 1 } });
+	public static final long[] WHITE_PAWN_ATTACKS = initLeaperAttacks(new int[][] { { -1, -1 }, { -1, 1 } });
+	public static final long[] BLACK_PAWN_ATTACKS = initLeaperAttacks(new int[][] { { 1, -1 }, { 1, 1 } });
+	
 	// String array to hold the algebraic chess style moves made
 	public static final String[] ALGEBRAIC_NOTATION = initializeAlgebraicNotation();
 	// Map to hold
@@ -31,6 +42,20 @@ public class BoardUtils {
 	// Variables to store the number of tiles on a board and number of tiles in a row
 	public static final int NUM_TILES = 64;
 	public static final int NUM_TILES_PER_ROW = 8;
+	
+	// Variable to store the number of piece bitboards on a board - one for each piece type of each color
+	public static final int NUM_PIECE_BITBOARDS = 12;
+	// Variable to store the number of piece types
+	private static final int NUM_PIECE_TYPES = 6;
+	
+	// Bits of the castling rights - king side and queen side for each color
+	public static final int WHITE_KING_SIDE_CASTLE = 1;
+	public static final int WHITE_QUEEN_SIDE_CASTLE = 2;
+	public static final int BLACK_KING_SIDE_CASTLE = 4;
+	public static final int BLACK_QUEEN_SIDE_CASTLE = 8;
+	public static final int ALL_CASTLING_RIGHTS = WHITE_KING_SIDE_CASTLE | WHITE_QUEEN_SIDE_CASTLE | BLACK_KING_SIDE_CASTLE | BLACK_QUEEN_SIDE_CASTLE;
+	// Castling rights kept when a piece moves from or to each tile - a king or rook leaving home, or a rook being taken, loses them
+	private static final int[] CASTLING_RIGHTS_MASKS = initCastlingRightsMasks();
 
 	
 	
@@ -49,7 +74,6 @@ public class BoardUtils {
 		
 		// Loop through all the tiles on the game board
 		for (int i = 0; i < NUM_TILES; i++) {
-			System.out.println(ALGEBRAIC_NOTATION[i]);
 			// Add the notation to the position to coordinate hash map
 			positionToCoordinate.put(ALGEBRAIC_NOTATION[i], i);
 		}
@@ -63,7 +87,7 @@ public class BoardUtils {
 		
 		return new String[] {
 				"a8", "b8", "c8", "d8", "e8", "f8", "g8", "h8",
-				"a7", "b7", "c7", "d7", "e7", "f7", "g8", "h7",
+				"a7", "b7", "c7", "d7", "e7", "f7", "g7", "h7",
 				"a6", "b6", "c6", "d6", "e6", "f6", "g6", "h6",
 				"a5", "b5", "c5", "d5", "e5", "f5", "g5", "h5",
 				"a4", "b4", "c4", "d4", "e4", "f4", "g4", "h4",
@@ -113,6 +137,85 @@ public class BoardUtils {
 	
 	
 	
+	// Method to initialize the attack bitboards of a piece that jumps straight to its destination tiles
+	private static long[] initLeaperAttacks(final int[][] steps) {
+		// An array to store an attack bitboard for each of the 64 tiles
+		final long[] attacks = new long[NUM_TILES];
+		
+		// Loop through all the tiles on the board
+		for (int i = 0; i < NUM_TILES; i++) {
+			
+			// Loop through each row and column step the piece can make
+			for (final int[] step : steps) {
+				// Variables to store the row and column of the destination tile
+				final int row = i / NUM_TILES_PER_ROW + step[0];
+				final int column = i % NUM_TILES_PER_ROW + step[1];
+				
+				// Check that the destination tile is on the board - this is the only place the edges are checked
+				if (row >= 0 && row < NUM_TILES_PER_ROW && column >= 0 && column < NUM_TILES_PER_ROW) {
+					// Set the bit for the destination tile
+					attacks[i] |= getTileBit(row * NUM_TILES_PER_ROW + column);
+				}
+			}
+		}
+		// Return the array of attack bitboards
+		return attacks;
+	}
+	
+	
+	
+	// Method to return the tiles a pawn of a color attacks from a tile
+	public static long getPawnAttacks(final Alliance alliance, final int coordinate) {
+		// Return the white or black pawn attack bitboard for the tile
+		return alliance.isWhite() ? WHITE_PAWN_ATTACKS[coordinate] : BLACK_PAWN_ATTACKS[coordinate];
+	}
+	
+	
+	
+	// Method to find the pieces of a color that attack a tile - looks outward from the tile with the attack tables
+	static long calculateAttackers(final int coordinate, final Alliance attackingAlliance, final long[] pieceBitboards, final long occupancy) {
+		// Variables to store the bitboards of the attacking color's sliding pieces - queens move along both kinds of ray
+		final long queens = pieceBitboards[getBitboardIndex(attackingAlliance, PieceType.QUEEN)];
+		final long diagonalSliders = pieceBitboards[getBitboardIndex(attackingAlliance, PieceType.BISHOP)] | queens;
+		final long straightSliders = pieceBitboards[getBitboardIndex(attackingAlliance, PieceType.ROOK)] | queens;
+		// Variable to store the color being attacked - an attacking pawn sits where a defending pawn on the tile would attack
+		final Alliance defendingAlliance = attackingAlliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+		
+		// Return every attacking piece that can reach the tile
+		return (getPawnAttacks(defendingAlliance, coordinate) & pieceBitboards[getBitboardIndex(attackingAlliance, PieceType.PAWN)]) |
+			   (KNIGHT_ATTACKS[coordinate] & pieceBitboards[getBitboardIndex(attackingAlliance, PieceType.KNIGHT)]) |
+			   (KING_ATTACKS[coordinate] & pieceBitboards[getBitboardIndex(attackingAlliance, PieceType.KING)]) |
+			   (MagicBitboards.getBishopAttacks(coordinate, occupancy) & diagonalSliders) |
+			   (MagicBitboards.getRookAttacks(coordinate, occupancy) & straightSliders);
+	}
+	
+	
+	
+	// Method to initialize the castling rights kept when a piece moves from or to each tile
+	private static int[] initCastlingRightsMasks() {
+		// Array to store a mask for every tile - most tiles keep all the rights
+		final int[] masks = new int[NUM_TILES];
+		Arrays.fill(masks, ALL_CASTLING_RIGHTS);
+		
+		// Remove the rights lost when each king or rook home tile is touched
+		masks[60] &= ~(WHITE_KING_SIDE_CASTLE | WHITE_QUEEN_SIDE_CASTLE);
+		masks[63] &= ~WHITE_KING_SIDE_CASTLE;
+		masks[56] &= ~WHITE_QUEEN_SIDE_CASTLE;
+		masks[4] &= ~(BLACK_KING_SIDE_CASTLE | BLACK_QUEEN_SIDE_CASTLE);
+		masks[7] &= ~BLACK_KING_SIDE_CASTLE;
+		masks[0] &= ~BLACK_QUEEN_SIDE_CASTLE;
+		// Return the array of masks
+		return masks;
+	}
+	
+	// Method to return the castling rights left after a piece moves from one tile to another
+	public static int updateCastlingRights(final int castlingRights, final int currentCoordinate, final int destinationCoordinate) {
+		// Keep only the rights that neither tile takes away
+		return castlingRights & CASTLING_RIGHTS_MASKS[currentCoordinate] & CASTLING_RIGHTS_MASKS[destinationCoordinate];
+	}
+	
+	
+	
 	// Method to check if a tile is out of bounds
 	public static boolean isValidTileCoordinate(final int coordinate) {
 		// Return coordinate if tile isn't less than zero or more than 64 - number of tiles on chess board
@@ -120,6 +223,19 @@ public class BoardUtils {
 	}
 	
 	
+	// Method to return a bitboard with only the bit for the given tile set
+	public static long getTileBit(final int coordinate) {
+		// Shift a single bit along to the tile coordinate
+		return 1L << coordinate;
+	}
+	
+	// Method to return the index of the bitboard for a piece type of one color
+	public static int getBitboardIndex(final Alliance alliance, final PieceType pieceType) {
+		// White bitboards come first followed by black bitboards - each in the order of the piece types
+		return alliance.ordinal() * NUM_PIECE_TYPES + pieceType.ordinal();
+	}
+	
+	
 	// Method to take in an algebraic chess style tile coordinate and return a numbered tile coordinate
 	public static int getCoordinateAtPosition(final String position) {
 		return POSITION_TO_COORDINATE.get(position);
@@ -0,0 +1,236 @@
+package com.chess.engine.board;
+
+
+
+public final class MagicBitboards {
+
+	// Row and column steps for the four diagonal rays of a bishop and the four straight rays of a rook
+	private static final int[][] BISHOP_DIRECTIONS = { { -1, -1 }, { -1, 1 }, { 1, -1 }, { 1, 1 } };
+	private static final int[][] ROOK_DIRECTIONS = { { -1, 0 }, { 0, -1 }, { 0, 1 }, { 1, 0 } };
+
+	// Magic multipliers for each square - found once with a sparse random search so that every blocker
+	// configuration of a square maps onto its own attack table entry, or onto one with the same attacks
+	private static final long[] BISHOP_MAGICS = {
+		0x2008021012002502L, 0x10601C0480810A01L, 0x200401140D010000L, 0x4011040480000000L,
+		0x4804050488000400L, 0x1201042006084000L, 0x0815142220040081L, 0x2480840088410804L,
+		0x0010502109010A00L, 0x00000404008C0104L, 0xC00250410A002000L, 0x0040144400830000L,
+		0x0000011040084000L, 0x1004010120900000L, 0x0409010410250408L, 0x0610520101411010L,
+		0xD940122008029080L, 0x0208020202040420L, 0x2090201200204100L, 0x0118440404000800L,
+		0x00830000904000C0L, 0x0100400888084004L, 0x0504020114020200L, 0x60902200440A0804L,
+		0x4102904141040800L, 0x5C90044002040400L, 0x0088040008083120L, 0x000108000C004010L,
+		0x0021004014004040L, 0x1000410022008200L, 0x2812020200411040L, 0x80004443048C0410L,
+		0x400A082004242080L, 0x8004862818503020L, 0x020C004400282020L, 0x00C2240102100900L,
+		0x0002080410020200L, 0x0010410040220041L, 0xA210040122A08091L, 0x3001410020020200L,
+		0x00C0922110806000L, 0x1A00808808346140L, 0x2092010406104304L, 0x0040404208000480L,
+		0x9480202008880100L, 0x2401301000840040L, 0x0060820409040040L, 0xA08408004902C044L,
+		0x0801040184400040L, 0x00C0220130080028L, 0x813A010241109040L, 0x9010060104980000L,
+		0x0000504105010000L, 0x1240082008009800L, 0x0011040800840844L, 0x0004300086009284L,
+		0x0008140221100802L, 0x0C00002121101004L, 0x0230248250443000L, 0x800010E208420200L,
+		0x800101C010020211L, 0x0201008404484200L, 0x0880202042062541L, 0x102204A804840080L
+	};
+	private static final long[] ROOK_MAGICS = {
+		0x0080068051E04000L, 0x0040001000402000L, 0x0080100020008008L, 0x4E000A0010208440L,
+		0x4200040802002010L, 0x0100010008020400L, 0x9080608019000600L, 0x8100020080204100L,
+		0x8080800090204000L, 0x8015004004802100L, 0x000200108A002040L, 0x0801000821001000L,
+		0x0015000500080070L, 0x0120800400800200L, 0x0109000432001100L, 0x020080055B000080L,
+		0x0080004000402002L, 0x5260848020004008L, 0x2402020014402080L, 0x3000808010000802L,
+		0x0304018004810800L, 0x0000808004000200L, 0x0002040001500248L, 0x0012020000408401L,
+		0x8440008080004020L, 0x0804200840100040L, 0x0820008080201000L, 0x0021008B00201000L,
+		0x0081011100080084L, 0x1080020080800400L, 0x0081014400882210L, 0x20010001000D6082L,
+		0x1000804010800020L, 0x0020100020404000L, 0x0201002001001041L, 0x1181002109001000L,
+		0x0001000801001004L, 0x0000800200800400L, 0x2000388204000110L, 0x1222040082002041L,
+		0x6041C00081A48000L, 0x8020802201060040L, 0x4000200100410018L, 0x0010000904110020L,
+		0x8000040008008080L, 0x0A00201004080140L, 0x0000040200010100L, 0x0220007081020004L,
+		0x840205C981002A00L, 0x0000804000200480L, 0x0002081040802200L, 0x0240230010000900L,
+		0x0044800800240180L, 0x4011000400080300L, 0x00101011088A0C00L, 0x1003000080420100L,
+		0x0180102100408001L, 0x1100108040010021L, 0x0182004008108022L, 0x0122900128202501L,
+		0x0002012004100802L, 0x00C200834C081002L, 0x0440020110083084L, 0x4000484884010022L
+	};
+
+	// Masks of the tiles whose occupancy can block each square's rays - edge tiles never block anything
+	private static final long[] BISHOP_MASKS = new long[BoardUtils.NUM_TILES];
+	private static final long[] ROOK_MASKS = new long[BoardUtils.NUM_TILES];
+
+	// Shifts that leave only the attack table index bits of the magic product
+	private static final int[] BISHOP_SHIFTS = new int[BoardUtils.NUM_TILES];
+	private static final int[] ROOK_SHIFTS = new int[BoardUtils.NUM_TILES];
+
+	// Attack tables for each square indexed by the magic index of the blockers
+	private static final long[][] BISHOP_ATTACKS = new long[BoardUtils.NUM_TILES][];
+	private static final long[][] ROOK_ATTACKS = new long[BoardUtils.NUM_TILES][];
+
+	// Tiles strictly between two tiles on the same ray, and every tile of the line through them - empty if they don't share a line
+	private static final long[][] TILES_BETWEEN = new long[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+	private static final long[][] TILES_ON_LINE = new long[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+
+	// Build all the tables once when the class is first used
+	static {
+		// Loop through all 64 tiles
+		for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+			// Build the bishop and rook tables for the tile
+			initSquare(i, BISHOP_DIRECTIONS, BISHOP_MAGICS[i], BISHOP_MASKS, BISHOP_SHIFTS, BISHOP_ATTACKS);
+			initSquare(i, ROOK_DIRECTIONS, ROOK_MAGICS[i], ROOK_MASKS, ROOK_SHIFTS, ROOK_ATTACKS);
+		}
+		// Loop through all 64 tiles again now the attack tables are built
+		for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+			// Fill in the lines from the tile to every other tile
+			initLines(i);
+		}
+	}
+
+
+
+	// Constructor
+	private MagicBitboards() {
+		// Throw runtime exception in case someone tries to instantiate it
+		throw new RuntimeException("You cannot instantiate me!");
+	}
+
+
+
+	// Method to return the tiles a bishop on a tile attacks given the occupied tiles
+	public static long getBishopAttacks(final int coordinate, final long occupancy) {
+		// Look up the attacks using the magic index of the blockers on the bishop's rays
+		return BISHOP_ATTACKS[coordinate][(int) (((occupancy & BISHOP_MASKS[coordinate]) * BISHOP_MAGICS[coordinate]) >>> BISHOP_SHIFTS[coordinate])];
+	}
+
+	// Method to return the tiles a rook on a tile attacks given the occupied tiles
+	public static long getRookAttacks(final int coordinate, final long occupancy) {
+		// Look up the attacks using the magic index of the blockers on the rook's rays
+		return ROOK_ATTACKS[coordinate][(int) (((occupancy & ROOK_MASKS[coordinate]) * ROOK_MAGICS[coordinate]) >>> ROOK_SHIFTS[coordinate])];
+	}
+
+	// Method to return the tiles a queen on a tile attacks given the occupied tiles
+	public static long getQueenAttacks(final int coordinate, final long occupancy) {
+		// A queen attacks along the rays of both a bishop and a rook
+		return getBishopAttacks(coordinate, occupancy) | getRookAttacks(coordinate, occupancy);
+	}
+
+
+
+	// Method to return the tiles strictly between two tiles that share a row, column or diagonal
+	public static long getTilesBetween(final int firstCoordinate, final int secondCoordinate) {
+		// Look up the tiles in the table
+		return TILES_BETWEEN[firstCoordinate][secondCoordinate];
+	}
+
+	// Method to return every tile on the row, column or diagonal through two tiles - edge to edge
+	public static long getTilesOnLine(final int firstCoordinate, final int secondCoordinate) {
+		// Look up the tiles in the table
+		return TILES_ON_LINE[firstCoordinate][secondCoordinate];
+	}
+
+
+
+	// Method to fill in the between and line tables from a tile to every other tile
+	private static void initLines(final int coordinate) {
+		// Variable to store the bit for the tile
+		final long tileBit = BoardUtils.getTileBit(coordinate);
+
+		// Loop through every other tile
+		for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+			// Variable to store the bit for the other tile
+			final long otherTileBit = BoardUtils.getTileBit(i);
+
+			// Check if the tiles share a row or column
+			if (i != coordinate && (getRookAttacks(coordinate, 0L) & otherTileBit) != 0) {
+				// The tiles between are the ones each tile's rays reach when the other tile blocks them
+				TILES_BETWEEN[coordinate][i] = getRookAttacks(coordinate, otherTileBit) & getRookAttacks(i, tileBit);
+				// The line is where the two tiles' empty board rays cross, plus the tiles themselves
+				TILES_ON_LINE[coordinate][i] = (getRookAttacks(coordinate, 0L) & getRookAttacks(i, 0L)) | tileBit | otherTileBit;
+			// Check if the tiles share a diagonal
+			} else if (i != coordinate && (getBishopAttacks(coordinate, 0L) & otherTileBit) != 0) {
+				// Fill in the tables in the same way along the diagonal
+				TILES_BETWEEN[coordinate][i] = getBishopAttacks(coordinate, otherTileBit) & getBishopAttacks(i, tileBit);
+				TILES_ON_LINE[coordinate][i] = (getBishopAttacks(coordinate, 0L) & getBishopAttacks(i, 0L)) | tileBit | otherTileBit;
+			}
+		}
+	}
+
+
+
+	// Method to fill in the attack table of a tile using its magic number
+	private static void initSquare(final int coordinate, final int[][] directions, final long magic, final long[] masks,
+									final int[] shifts, final long[][] attackTables) {
+		// Variable to store the tiles that can block the rays from the tile
+		final long mask = calculateRays(coordinate, directions, 0L, true);
+		// Variable to store the shift that leaves only the index bits
+		final int shift = Long.SIZE - Long.bitCount(mask);
+		// Array to store the attack table - one entry for every possible blocker configuration
+		final long[] table = new long[1 << Long.bitCount(mask)];
+		// Variable to store the current blocker configuration - starts with no blockers
+		long blockers = 0L;
+
+		// Loop through every subset of the mask
+		do {
+			// Variables to store the table index for the blockers and the attacks they leave
+			final int index = (int) ((blockers * magic) >>> shift);
+			final long attacks = calculateRays(coordinate, directions, blockers, false);
+
+			// Check if the entry is already used for different attacks - a slider always attacks at least one tile
+			if (table[index] != 0 && table[index] != attacks) {
+				// Throw a runtime exception error - the magic number doesn't work for this tile
+				throw new RuntimeException("Invalid magic number for tile " + coordinate);
+			}
+			// Store the attacks in the table
+			table[index] = attacks;
+			// Step on to the next subset of the mask
+			blockers = (blockers - mask) & mask;
+		} while (blockers != 0);
+
+		// Store the mask, shift and attack table for the tile
+		masks[coordinate] = mask;
+		shifts[coordinate] = shift;
+		attackTables[coordinate] = table;
+	}
+
+
+
+	// Method to walk the rays from a tile - stops at the first blocker or, for a mask, before the edge of the board
+	private static long calculateRays(final int coordinate, final int[][] directions, final long blockers, final boolean isMask) {
+		// Variable to store the tiles on the rays
+		long rays = 0L;
+
+		// Loop through each direction
+		for (final int[] direction : directions) {
+			// Variables to store the row and column of the next tile on the ray
+			int row = coordinate / BoardUtils.NUM_TILES_PER_ROW + direction[0];
+			int column = coordinate % BoardUtils.NUM_TILES_PER_ROW + direction[1];
+
+			// Keep walking while the tile is on the board
+			while (row >= 0 && row < BoardUtils.NUM_TILES_PER_ROW && column >= 0 && column < BoardUtils.NUM_TILES_PER_ROW) {
+
+				// Check if a mask is being built and the tile after this one is off the board
+				if (isMask && isLastTileOnRay(row, column, direction)) {
+					// Edge tiles are left out of the mask
+					break;
+				}
+				// Variable to store the bit for the tile
+				final long tileBit = BoardUtils.getTileBit(row * BoardUtils.NUM_TILES_PER_ROW + column);
+				// Add the tile to the rays
+				rays |= tileBit;
+
+				// Check if the tile blocks the ray
+				if ((blockers & tileBit) != 0) {
+					break;
+				}
+				// Step on to the next tile on the ray
+				row += direction[0];
+				column += direction[1];
+			}
+		}
+		// Return the tiles on the rays
+		return rays;
+	}
+
+
+
+	// Method to check if the next step along a ray would leave the board
+	private static boolean isLastTileOnRay(final int row, final int column, final int[] direction) {
+		// Variables to store the row and column of the next tile on the ray
+		final int nextRow = row + direction[0];
+		final int nextColumn = column + direction[1];
+		// Return true if the next tile is off the board
+		return nextRow < 0 || nextRow >= BoardUtils.NUM_TILES_PER_ROW || nextColumn < 0 || nextColumn >= BoardUtils.NUM_TILES_PER_ROW;
+	}
+}
@@ -3,6 +3,8 @@ package com.chess.engine.board;
 import com.chess.engine.board.Board.Builder;
 import com.chess.engine.pieces.Pawn;
 import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+import com.chess.engine.pieces.PieceUtils;
 import com.chess.engine.pieces.Rook;
 
 
@@ -132,35 +134,61 @@ public abstract class Move {
 		return false;
 	}
 	
+	// Method to check if a move is a pawn promotion
+	public boolean isPawnPromotion() {
+		// Return false for the base class
+		return false;
+	}
+	
 	
 	
 	// Method to execute a move
 	public Board execute() {
-		// Initialize an instance of the board builder
-		final Board.Builder builder = new Board.Builder();
-		
-		// Loop through the current player's active pieces
-		for (final Piece piece : this.board.currentPlayer().getActivePieces()) {
-			
-			// Check if the piece is not the moved piece
-			if (!this.movedPiece.equals(piece)) {
-				// Set the unmoved piece in the same position
-				builder.setPiece(piece);
-			}
-		}
+		// Initialize an instance of the board builder with a copy of the board's pieces
+		final Board.Builder builder = new Board.Builder(this.board);
 		
-		// Loop through all of the opponent's active pieces
-		for (final Piece piece : this.board.currentPlayer().getOpponent().getActivePieces()) {
-			// Set the opponent's pieces in the same position
-			builder.setPiece(piece);
-		}
-		// Set the position of the moved piece
+		// Take the moved piece off its tile
+		builder.clearTile(getCurrentCoordinate());
+		// Set the position of the moved piece - replacing any piece it takes
 		builder.setPiece(this.movedPiece.movePiece(this));
 		// Set the move maker to be opponent
 		builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+		// Set the castling rights left after the move
+		builder.setCastlingRights(calculateCastlingRights());
+		// Set the zobrist key of the new board
+		builder.setZobristKey(calculateZobristKey(null));
 		// Return the new game board
 		return builder.build();
 	}
+	
+	
+	
+	// Method to work out the castling rights left after the move - a king or rook leaving its home tile, or a rook being
+	// taken on it, clears the rights that depend on it
+	protected int calculateCastlingRights() {
+		// Clear the rights of the tile the piece leaves and the tile it lands on
+		return BoardUtils.updateCastlingRights(this.board.getCastlingRights(), getCurrentCoordinate(), this.destinationCoordinate);
+	}
+	
+	// Method to work out the zobrist key of the board after the move from the key of the board it is made on
+	protected long calculateZobristKey(final Pawn enPassantPawn) {
+		// Variable to store the castling rights left after the move
+		final int castlingRights = calculateCastlingRights();
+		// Variable to store the key - the side to move changes and the moved piece goes from its tile to the destination
+		long zobristKey = this.board.getZobristKey() ^ Zobrist.getMoveMakerKey() ^ Zobrist.getPieceKey(this.movedPiece) ^
+						  Zobrist.getPieceKey(this.movedPiece.getPieceAlliance(), this.movedPiece.getPieceType(), this.destinationCoordinate);
+		// Swap the old castling rights and en passant pawn for the new ones
+		zobristKey ^= Zobrist.getCastlingKey(this.board.getCastlingRights()) ^ Zobrist.getCastlingKey(castlingRights);
+		zobristKey ^= Zobrist.getEnPassantKey(this.board.getEnPassantPawn()) ^ Zobrist.getEnPassantKey(enPassantPawn);
+		
+		// Check if a piece is taken
+		if (getAttackedPiece() != null) {
+			// Remove the taken piece from its tile - for en passant that isn't the destination
+			zobristKey ^= Zobrist.getPieceKey(getAttackedPiece());
+		}
+		// Return the key
+		return zobristKey;
+	}
 
 	
 	
@@ -363,32 +391,20 @@ public abstract class Move {
 		@Override
 		public Board execute() {
 			
-			// Initialize a new instance of a builder
-			final Builder builder = new Builder();
+			// Initialize a new instance of a builder with a copy of the board's pieces
+			final Builder builder = new Builder(this.board);
 			
-			// Loop through all the current player's active pieces
-			for (final Piece piece : this.board.currentPlayer().getActivePieces()) {
-				
-				// Check if the piece is different than the moved piece
-				if (!this.movedPiece.equals(piece)) {
-					// Set all the pieces that are not moved
-					builder.setPiece(piece);
-				}
-			}
-			
-			// Loop through all the opponent's active pieces
-			for (final Piece piece : this.board.currentPlayer().getOpponent().getActivePieces()) {
-				
-				// Check if the piece is different than the attacked piece
-				if (!piece.equals(this.getAttackedPiece())) {
-					// Set all the pieces that are not being attacked
-					builder.setPiece(piece);
-				}
-			}
+			// Take the moved pawn off its tile and the attacked pawn off the tile behind the destination
+			builder.clearTile(getCurrentCoordinate());
+			builder.clearTile(this.getAttackedPiece().getPiecePosition());
 			// Set the moved piece
 			builder.setPiece(this.movedPiece.movePiece(this));
 			// Set the move maker to be the opponent
 			builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+			// Set the castling rights left after the move
+			builder.setCastlingRights(calculateCastlingRights());
+			// Set the zobrist key of the new board
+			builder.setZobristKey(calculateZobristKey(null));
 			// Return the new board
 			return builder.build();
 		}
@@ -403,15 +419,25 @@ public abstract class Move {
 		final Move decoratedMove;
 		// Variable to store the pawn that is promoted
 		final Pawn promotedPawn;
+		// Variable to store the type of piece the pawn becomes
+		final PieceType promotionPieceType;
 		
-		// Constructor
+		// Constructor - the pawn becomes a queen
 		public PawnPromotion(final Move decoratedMove) {
+			// Call the constructor for a promotion to a queen
+			this(decoratedMove, PieceType.QUEEN);
+		}
+		
+		// Constructor for a promotion to a chosen piece type
+		public PawnPromotion(final Move decoratedMove, final PieceType promotionPieceType) {
 			// Call the super constructor of the move class
 			super(decoratedMove.getBoard(), decoratedMove.getMovedPiece(), decoratedMove.getDestinationCoordinate());
 			// Assign the value of decorated move
 			this.decoratedMove = decoratedMove;
 			// Assign the value of the promoted pawn
-			this.promotedPawn = (Pawn) decoratedMove.getMovedPiece();	
+			this.promotedPawn = (Pawn) decoratedMove.getMovedPiece();
+			// Assign the value of the promotion piece type
+			this.promotionPieceType = promotionPieceType;
 		}
 		
 		
@@ -420,14 +446,15 @@ public abstract class Move {
 		@Override
 		public int hashCode() {
 			// Return the cached hash code
-			return decoratedMove.hashCode() + (31 * promotedPawn.hashCode());
+			return decoratedMove.hashCode() + (31 * promotedPawn.hashCode()) + (31 * 31 * promotionPieceType.hashCode());
 		}
 		
 		// Override the equals method for a pawn promotion
 		@Override
 		public boolean equals(final Object other) {
-			// Check if they are an instance of the same pawn promotion move and return boolean
-			return this == other || other instanceof PawnPromotion && (super.equals(other));
+			// Check if they are an instance of the same pawn promotion move to the same piece type and return boolean
+			return this == other || other instanceof PawnPromotion && (super.equals(other)) &&
+								   this.promotionPieceType == ((PawnPromotion) other).promotionPieceType;
 		}
 		
 		
@@ -436,36 +463,41 @@ public abstract class Move {
 		@Override
 		public Board execute() {
 			
-			// Initialize a pawn moved board
-			final Board pawnMovedBoard = this.decoratedMove.execute();
-			// Initialize a new builder
-			final Board.Builder builder = new Builder();
+			// Initialize a new builder with a copy of the board's pieces
+			final Builder builder = new Builder(this.board);
+			// Variable to store the promoted piece
+			final Piece promotedPiece = this.promotedPawn.getPromotionPiece(this.promotionPieceType).movePiece(this);
 			
-			// Loop through all the current player's pieces on the pawn moved board
-			for (final Piece piece : pawnMovedBoard.currentPlayer().getActivePieces()) {
-				
-				// Check if the piece is different than the promoted pawn
-				if (!this.promotedPawn.equals(piece)) {
-					// Set the position of all the pieces that are not the promoted pawn
-					builder.setPiece(piece);
-				}
-			}
-			
-			// Loop through all the opponent's pieces on the pawn moved board
-			for (final Piece piece : pawnMovedBoard.currentPlayer().getOpponent().getActivePieces()) {
-				// Set the position of all the opponent's pieces
-				builder.setPiece(piece);
-			}
-			// Set the position of the new promoted piece
-			builder.setPiece(this.promotedPawn.getPromotionPiece().movePiece(this));
+			// Take the pawn off its tile
+			builder.clearTile(getCurrentCoordinate());
+			// Set the position of the new promoted piece - replacing any piece it takes
+			builder.setPiece(promotedPiece);
 			// Set the move maker to be the opponent
-			builder.setMoveMaker(pawnMovedBoard.currentPlayer().getAlliance());
+			builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+			// Set the castling rights left after the move
+			builder.setCastlingRights(calculateCastlingRights());
+			// Set the zobrist key of the new board - the pawn move's key with the pawn on the destination swapped for the promoted piece
+			builder.setZobristKey(this.decoratedMove.calculateZobristKey(null) ^ Zobrist.getPieceKey(this.promotedPawn.getPieceAlliance(),
+								  PieceType.PAWN, this.destinationCoordinate) ^ Zobrist.getPieceKey(promotedPiece));
 			// Return the new board
 			return builder.build();
 		}
 		
 		
 		
+		// Override the is pawn promotion method for a pawn promotion
+		@Override
+		public boolean isPawnPromotion() {
+			// Return true - it is a pawn promotion
+			return true;
+		}
+		
+		// Getter method for the type of piece the pawn becomes
+		public PieceType getPromotionPieceType() {
+			// Return the promotion piece type
+			return this.promotionPieceType;
+		}
+		
 		// Override the is attack method for a pawn promotion
 		@Override
 		public boolean isAttack() {
@@ -503,24 +535,11 @@ public abstract class Move {
 		// Override the execute method for a pawn jump
 		@Override
 		public Board execute() {
-			// Initialize an instance of the board builder
-			final Builder builder = new Builder();
-			
-			// Loop through the current player's active pieces
-			for (final Piece piece : this.board.currentPlayer().getActivePieces()) {
-				
-				// Check if the piece is not the moved piece
-				if (!this.movedPiece.equals(piece)) {
-					// Set the unmoved piece in the same position
-					builder.setPiece(piece);
-				}
-			}
+			// Initialize an instance of the board builder with a copy of the board's pieces
+			final Builder builder = new Builder(this.board);
 			
-			// Loop through all of the opponent's active pieces
-			for (final Piece piece : this.board.currentPlayer().getOpponent().getActivePieces()) {
-				// Set the opponent's pieces in the same position
-				builder.setPiece(piece);
-			}
+			// Take the moved pawn off its tile
+			builder.clearTile(getCurrentCoordinate());
 			// Create a new instance of a pawn with the value of the moved piece
 			final Pawn movedPawn = (Pawn)this.movedPiece.movePiece(this);
 			// Set the position of the moved pawn
@@ -529,6 +548,10 @@ public abstract class Move {
 			builder.setEnPassantPawn(movedPawn);
 			// Set the move maker to be opponent
 			builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+			// Set the castling rights left after the move
+			builder.setCastlingRights(calculateCastlingRights());
+			// Set the zobrist key of the new board
+			builder.setZobristKey(calculateZobristKey(movedPawn));
 			// Return the new game board
 			return builder.build();
 		}
@@ -583,30 +606,23 @@ public abstract class Move {
 		// Override the execute method for a castle move
 		@Override
 		public Board execute() {
-			// Initialize an instance of the board builder
-			final Builder builder = new Builder();
-						
-			// Loop through the current player's active pieces
-			for (final Piece piece : this.board.currentPlayer().getActivePieces()) {
-							
-				// Check if the piece is not the moved piece and it is not the castle rook
-				if (!this.movedPiece.equals(piece) && !this.castleRook.equals(piece)) {
-					// Set the unmoved piece in the same position
-					builder.setPiece(piece);
-				}
-			}
-						
-			// Loop through all of the opponent's active pieces
-			for (final Piece piece : this.board.currentPlayer().getOpponent().getActivePieces()) {
-				// Set the opponent's pieces in the same position
-				builder.setPiece(piece);
-			}
+			// Initialize an instance of the board builder with a copy of the board's pieces
+			final Builder builder = new Builder(this.board);
+			
+			// Take the king and the castle rook off their tiles
+			builder.clearTile(getCurrentCoordinate());
+			builder.clearTile(this.castleRookStart);
 			// Set the new position of the king
 			builder.setPiece(this.movedPiece.movePiece(this));
-			// Create a new rook piece in the castle rook's destination file
-			builder.setPiece(new Rook(this.castleRook.getPieceAlliance(), this.castleRookDestination));
+			// Set the shared rook piece in the castle rook's destination file
+			builder.setPiece(PieceUtils.getRook(this.castleRook.getPieceAlliance(), this.castleRookDestination, false));
 			// Set the move maker to be opponent
 			builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+			// Set the castling rights left after the move
+			builder.setCastlingRights(calculateCastlingRights());
+			// Set the zobrist key of the new board - the rook moves as well as the king
+			builder.setZobristKey(calculateZobristKey(null) ^ Zobrist.getPieceKey(this.castleRook) ^
+								  Zobrist.getPieceKey(this.castleRook.getPieceAlliance(), PieceType.ROOK, this.castleRookDestination));
 			// Return the new game board
 			return builder.build();
 		}
@@ -743,20 +759,34 @@ public abstract class Move {
 		
 		
 		
-		// Method to check if a move is in the board's all legal moves iterable
+		// Method to find the legal move between two tiles on a board - the current player's moves are looked up first
 		public static Move createMove(final Board board, final int currentCoordinate, final int destinationCoordinate) {
-			
-			// Loop through all the legal moves on the board
-			for (final Move move : board.getAllLegalMoves()) {
-				
-				// Check if the current and destination tile of the move matches a move in the all legal moves iterable
-				if (move.getCurrentCoordinate() == currentCoordinate && move.getDestinationCoordinate() == destinationCoordinate) {
-					// Return the move is a match is found
-					return move;
-				}
-			}
-			// Return a null move if a match isn't found
-			return NULL_MOVE;
+			// Variable to store the current player's legal move between the tiles
+			final Move move = board.currentPlayer().getLegalMove(currentCoordinate, destinationCoordinate);
+			// Return the move if a match is found, otherwise look it up in the opponent's legal moves - a null move if neither has one
+			return move != NULL_MOVE ? move : board.currentPlayer().getOpponent().getLegalMove(currentCoordinate, destinationCoordinate);
+		}
+
+
+
+		// Method to find the legal move between two tiles that promotes to a piece type - the current player's moves are looked up first
+		public static Move createMove(final Board board, final int currentCoordinate, final int destinationCoordinate,
+									  final PieceType promotionPieceType) {
+			// Variable to store the current player's legal move between the tiles
+			final Move move = board.currentPlayer().getLegalMove(currentCoordinate, destinationCoordinate, promotionPieceType);
+			// Return the move if a match is found, otherwise look it up in the opponent's legal moves - a null move if neither has one
+			return move != NULL_MOVE ? move :
+				   board.currentPlayer().getOpponent().getLegalMove(currentCoordinate, destinationCoordinate, promotionPieceType);
+		}
+
+
+
+		// Method to turn an encoded move back into the matching move object on the board - only done when a move object is needed
+		public static Move createMove(final Board board, final int encodedMove) {
+			// Return the legal move with the same source tile, destination tile and promotion piece
+			return encodedMove == MoveUtils.NULL_MOVE ? NULL_MOVE :
+				   createMove(board, MoveUtils.getCurrentCoordinate(encodedMove), MoveUtils.getDestinationCoordinate(encodedMove),
+							  MoveUtils.getPromotionPieceType(encodedMove));
 		}
 	}
 }
@@ -0,0 +1,77 @@
+package com.chess.engine.board;
+
+
+
+// List of encoded moves backed by an int array - one is kept per ply and cleared rather than reallocated
+public final class MoveList {
+
+	// Array to store the encoded moves
+	private final int[] moves;
+	// Variable to store the number of moves in the list
+	private int size;
+
+
+
+	// Constructor
+	public MoveList() {
+		// Size the array for the most moves any position can have
+		this.moves = new int[SearchBoard.MAX_MOVES];
+	}
+
+
+
+	// Method to add an encoded move to the end of the list
+	public void add(final int move) {
+		// Store the move and increment the size
+		this.moves[this.size++] = move;
+	}
+
+	// Getter method for the encoded move at an index
+	public int get(final int index) {
+		// Return the move at the index
+		return this.moves[index];
+	}
+
+	// Setter method for the encoded move at an index
+	public void set(final int index, final int move) {
+		// Replace the move at the index
+		this.moves[index] = move;
+	}
+
+
+
+	// Getter method for the number of moves in the list
+	public int size() {
+		// Return the size
+		return this.size;
+	}
+
+	// Method to shorten the list - moves past the new size are dropped
+	public void truncate(final int newSize) {
+		// Set the new size
+		this.size = newSize;
+	}
+
+	// Method to empty the list so it can be reused
+	public void clear() {
+		// Reset the size to 0 - the array is kept
+		this.size = 0;
+	}
+
+
+
+	// Override the to string method for a move list
+	@Override
+	public String toString() {
+		// Initialize a new string builder
+		final StringBuilder builder = new StringBuilder("[");
+
+		// Loop through all the moves in the list
+		for (int i = 0; i < this.size; i++) {
+			// Append each move separated by a comma
+			builder.append(i == 0 ? "" : ", ").append(MoveUtils.toString(this.moves[i]));
+		}
+		// Return the list of moves
+		return builder.append("]").toString();
+	}
+}
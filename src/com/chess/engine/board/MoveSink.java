@@ -0,0 +1,9 @@
+package com.chess.engine.board;
+
+
+
+public interface MoveSink {
+
+	// Method to take a generated move - return true to keep generating, false to stop straight away
+	boolean accept(Move move);
+}
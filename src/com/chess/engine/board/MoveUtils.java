@@ -0,0 +1,155 @@
+package com.chess.engine.board;
+
+import com.chess.engine.pieces.Piece.PieceType;
+
+
+
+public final class MoveUtils {
+
+	// Value of an empty move - a real move never has the same source and destination tile
+	public static final int NULL_MOVE = 0;
+
+	// Flags to store the kind of move - the capture and promotion flags are single bits so they can be tested alone
+	public static final int QUIET_MOVE = 0;
+	public static final int PAWN_JUMP = 1;
+	public static final int KING_SIDE_CASTLE = 2;
+	public static final int QUEEN_SIDE_CASTLE = 3;
+	public static final int CAPTURE = 4;
+	public static final int EN_PASSANT = 5;
+	public static final int PROMOTION = 8;
+	public static final int PROMOTION_CAPTURE = PROMOTION | CAPTURE;
+
+	// Variables to store where each field sits in an encoded move
+	private static final int DESTINATION_SHIFT = 6;
+	private static final int FLAG_SHIFT = 12;
+	private static final int PROMOTION_SHIFT = 16;
+	// Variables to store the masks for a tile coordinate, a flag and a promotion piece type
+	private static final int COORDINATE_MASK = 0x3F;
+	private static final int FLAG_MASK = 0xF;
+	private static final int PROMOTION_MASK = 0x7;
+	
+	// Piece types in index order so a promotion piece can be looked up without copying values()
+	private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+
+
+	// Constructor
+	private MoveUtils() {
+		// Throw runtime exception in case someone tries to instantiate it
+		throw new RuntimeException("You cannot instantiate me!");
+	}
+
+
+
+	// Method to pack a move into a single integer - bits 0-5 are the source tile, 6-11 the destination tile and 12-15 the flag
+	// This takes 4 bytes per generated move rather than a move object holding the board and piece
+	public static int encode(final int currentCoordinate, final int destinationCoordinate, final int flag) {
+		// Return the packed move - a promotion with no piece given promotes to a queen
+		return (flag & PROMOTION) != 0 ? encode(currentCoordinate, destinationCoordinate, flag, PieceType.QUEEN) :
+				currentCoordinate | (destinationCoordinate << DESTINATION_SHIFT) | (flag << FLAG_SHIFT);
+	}
+	
+	// Method to pack a promotion into a single integer - bits 16-18 are the type of the piece the pawn becomes
+	public static int encode(final int currentCoordinate, final int destinationCoordinate, final int flag, final PieceType promotionPieceType) {
+		// Return the packed move
+		return currentCoordinate | (destinationCoordinate << DESTINATION_SHIFT) | (flag << FLAG_SHIFT) |
+			   (promotionPieceType.ordinal() << PROMOTION_SHIFT);
+	}
+	
+	
+	
+	// Method to pack a move object into a single integer
+	public static int encode(final Move move) {
+		
+		// Check if the move is the null move
+		if (move == Move.NULL_MOVE) {
+			// Return the empty encoded move
+			return NULL_MOVE;
+		}
+		// Check if the move is a promotion
+		if (move instanceof Move.PawnPromotion) {
+			// Return the packed source tile, destination tile, flag and the type of piece the pawn becomes
+			return encode(move.getCurrentCoordinate(), move.getDestinationCoordinate(), calculateFlag(move),
+						  ((Move.PawnPromotion) move).getPromotionPieceType());
+		}
+		// Return the packed source tile, destination tile and flag of the move
+		return encode(move.getCurrentCoordinate(), move.getDestinationCoordinate(), calculateFlag(move));
+	}
+	
+	
+	
+	// Method to work out the flag of a move object from its class
+	private static int calculateFlag(final Move move) {
+		
+		// Check what kind of move it is
+		if (move instanceof Move.PawnPromotion) {
+			// Return a promotion - with the capture bit if the pawn takes a piece
+			return move.isAttack() ? PROMOTION_CAPTURE : PROMOTION;
+		} else if (move instanceof Move.PawnEnPassantAttackMove) {
+			return EN_PASSANT;
+		} else if (move instanceof Move.PawnJump) {
+			return PAWN_JUMP;
+		} else if (move instanceof Move.KingSideCastleMove) {
+			return KING_SIDE_CASTLE;
+		} else if (move instanceof Move.QueenSideCastleMove) {
+			return QUEEN_SIDE_CASTLE;
+		}
+		// Return a capture for any other attack, otherwise a quiet move
+		return move.isAttack() ? CAPTURE : QUIET_MOVE;
+	}
+
+
+
+	// Getter method for the source tile of an encoded move
+	public static int getCurrentCoordinate(final int move) {
+		// Return the lowest six bits
+		return move & COORDINATE_MASK;
+	}
+
+	// Getter method for the destination tile of an encoded move
+	public static int getDestinationCoordinate(final int move) {
+		// Return the second six bits
+		return (move >>> DESTINATION_SHIFT) & COORDINATE_MASK;
+	}
+
+	// Getter method for the flag of an encoded move
+	public static int getFlag(final int move) {
+		// Return the flag bits
+		return (move >>> FLAG_SHIFT) & FLAG_MASK;
+	}
+
+
+
+	// Getter method for the type of piece a promotion turns the pawn into - null if the move isn't a promotion
+	public static PieceType getPromotionPieceType(final int move) {
+		// Return the piece type stored in the promotion bits
+		return isPromotion(move) ? PIECE_TYPES[(move >>> PROMOTION_SHIFT) & PROMOTION_MASK] : null;
+	}
+	
+	
+	
+	// Method to check if an encoded move takes a piece - en passant included
+	public static boolean isCapture(final int move) {
+		// Return true if the capture bit of the flag is set
+		return (getFlag(move) & CAPTURE) != 0;
+	}
+	
+	
+	
+	// Method to check if an encoded move promotes a pawn
+	public static boolean isPromotion(final int move) {
+		// Return true if the promotion bit of the flag is set
+		return (getFlag(move) & PROMOTION) != 0;
+	}
+
+
+
+	// Method to return an encoded move as a string of its source and destination tiles - e.g e2e4, or e7e8n for a promotion
+	public static String toString(final int move) {
+		// Variable to store the concatenation of the two algebraic tile coordinates
+		final String tiles = BoardUtils.getPositionAtCoordinate(getCurrentCoordinate(move)) +
+							 BoardUtils.getPositionAtCoordinate(getDestinationCoordinate(move));
+		// Return the tiles - followed by the lower case letter of the promotion piece for a promotion
+		return isPromotion(move) ? tiles + getPromotionPieceType(move).toString().toLowerCase() : tiles;
+	}
+}
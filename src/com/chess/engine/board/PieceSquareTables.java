@@ -0,0 +1,94 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece.PieceType;
+
+
+
+public final class PieceSquareTables {
+
+	// Bonuses for a white piece on each tile, laid out as the board is seen from white's side - tile 0 is a8 and tile 63 is h1.
+	// A black piece uses the same tables mirrored top to bottom
+	private static final int[] PAWN_TABLE = {
+		 0,   0,   0,   0,   0,   0,   0,   0,
+		50,  50,  50,  50,  50,  50,  50,  50,
+		10,  10,  20,  30,  30,  20,  10,  10,
+		 5,   5,  10,  25,  25,  10,   5,   5,
+		 0,   0,   0,  20,  20,   0,   0,   0,
+		 5,  -5, -10,   0,   0, -10,  -5,   5,
+		 5,  10,  10, -20, -20,  10,  10,   5,
+		 0,   0,   0,   0,   0,   0,   0,   0
+	};
+	private static final int[] KNIGHT_TABLE = {
+		-50, -40, -30, -30, -30, -30, -40, -50,
+		-40, -20,   0,   0,   0,   0, -20, -40,
+		-30,   0,  10,  15,  15,  10,   0, -30,
+		-30,   5,  15,  20,  20,  15,   5, -30,
+		-30,   0,  15,  20,  20,  15,   0, -30,
+		-30,   5,  10,  15,  15,  10,   5, -30,
+		-40, -20,   0,   5,   5,   0, -20, -40,
+		-50, -40, -30, -30, -30, -30, -40, -50
+	};
+	private static final int[] BISHOP_TABLE = {
+		-20, -10, -10, -10, -10, -10, -10, -20,
+		-10,   0,   0,   0,   0,   0,   0, -10,
+		-10,   0,   5,  10,  10,   5,   0, -10,
+		-10,   5,   5,  10,  10,   5,   5, -10,
+		-10,   0,  10,  10,  10,  10,   0, -10,
+		-10,  10,  10,  10,  10,  10,  10, -10,
+		-10,   5,   0,   0,   0,   0,   5, -10,
+		-20, -10, -10, -10, -10, -10, -10, -20
+	};
+	private static final int[] ROOK_TABLE = {
+		 0,   0,   0,   0,   0,   0,   0,   0,
+		 5,  10,  10,  10,  10,  10,  10,   5,
+		-5,   0,   0,   0,   0,   0,   0,  -5,
+		-5,   0,   0,   0,   0,   0,   0,  -5,
+		-5,   0,   0,   0,   0,   0,   0,  -5,
+		-5,   0,   0,   0,   0,   0,   0,  -5,
+		-5,   0,   0,   0,   0,   0,   0,  -5,
+		 0,   0,   0,   5,   5,   0,   0,   0
+	};
+	private static final int[] QUEEN_TABLE = {
+		-20, -10, -10,  -5,  -5, -10, -10, -20,
+		-10,   0,   0,   0,   0,   0,   0, -10,
+		-10,   0,   5,   5,   5,   5,   0, -10,
+		 -5,   0,   5,   5,   5,   5,   0,  -5,
+		  0,   0,   5,   5,   5,   5,   0,  -5,
+		-10,   5,   5,   5,   5,   5,   0, -10,
+		-10,   0,   5,   0,   0,   0,   0, -10,
+		-20, -10, -10,  -5,  -5, -10, -10, -20
+	};
+	private static final int[] KING_TABLE = {
+		-30, -40, -40, -50, -50, -40, -40, -30,
+		-30, -40, -40, -50, -50, -40, -40, -30,
+		-30, -40, -40, -50, -50, -40, -40, -30,
+		-30, -40, -40, -50, -50, -40, -40, -30,
+		-20, -30, -30, -40, -40, -30, -30, -20,
+		-10, -20, -20, -20, -20, -20, -20, -10,
+		 20,  20,   0,   0,   0,   0,  20,  20,
+		 20,  30,  10,   0,   0,  10,  30,  20
+	};
+
+	// Tables in the order of the piece types so a table can be looked up by ordinal
+	private static final int[][] TABLES = { PAWN_TABLE, KNIGHT_TABLE, BISHOP_TABLE, ROOK_TABLE, QUEEN_TABLE, KING_TABLE };
+
+	// Value xor'd into a tile to mirror it top to bottom - flips the row and keeps the column
+	private static final int MIRROR_ROWS = 56;
+
+
+
+	// Constructor
+	private PieceSquareTables() {
+		// Throw runtime exception in case someone tries to instantiate it
+		throw new RuntimeException("You cannot instantiate me!");
+	}
+
+
+
+	// Method to return the bonus for a piece of a color standing on a tile
+	public static int getPieceSquareValue(final Alliance alliance, final PieceType pieceType, final int coordinate) {
+		// Look up the bonus in the piece type's table - mirrored for black
+		return TABLES[pieceType.ordinal()][alliance.isWhite() ? coordinate : coordinate ^ MIRROR_ROWS];
+	}
+}
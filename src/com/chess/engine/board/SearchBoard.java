@@ -0,0 +1,780 @@
+package com.chess.engine.board;
+
+import java.util.Arrays;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Pawn;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+import com.chess.engine.pieces.PieceUtils;
+
+
+
+// Mutable board for searching - moves are made and unmade in place so walking the tree doesn't create a board per node
+public class SearchBoard {
+
+	// Variable to store the largest number of moves a position can have - the most known is 218
+	public static final int MAX_MOVES = 256;
+
+	// Variables to store the value of an empty tile and an empty en passant tile
+	private static final int EMPTY = 0;
+	private static final int NO_EN_PASSANT = -1;
+
+	// Alliances and piece types in index order so they don't have to be copied out of values() every time
+	private static final Alliance[] ALLIANCES = Alliance.values();
+	private static final PieceType[] PIECE_TYPES = PieceType.values();
+	// Piece types a pawn can promote to - the queen first, in the same order the board's pawns pass them on
+	private static final PieceType[] PROMOTION_PIECE_TYPES = { PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT };
+	// Kinds of move a generation can be asked for - captures and promotions, the rest, or both
+	private static final int CAPTURE_MOVES = 1;
+	private static final int QUIET_MOVES = 2;
+	private static final int ALL_MOVES = CAPTURE_MOVES | QUIET_MOVES;
+
+	// Array to store the piece code on each tile - 0 for empty, otherwise one more than the piece's bitboard index
+	private final int[] boardConfiguration;
+	// Bitboards for each alliance and piece type, and the tiles occupied by each color
+	private final long[] pieceBitboards;
+	private final long[] allianceOccupancy;
+	// Running totals of the piece values of each color - kept in step with the pieces
+	private final int[] material;
+
+	// Variables to store the side to move, the tile a pawn just jumped over and the castling rights
+	private int sideToMove;
+	private int enPassantCoordinate;
+	private int castlingRights;
+	// Variable to store the zobrist key of the position - the same key the board of the position has
+	private long zobristKey;
+
+	// Undo stack - everything a move destroys is kept so it can be unmade
+	private int[] undoMoves;
+	private int[] undoCapturedPieces;
+	private int[] undoEnPassantCoordinates;
+	private int[] undoCastlingRights;
+	private long[] undoZobristKeys;
+	// Variable to store the number of moves made since the search board was created
+	private int ply;
+	// Move lists for each ply - reused every time the ply is reached instead of being reallocated
+	private MoveList[] moveLists;
+	// Move list for the moves generated to answer a question about the position rather than to be searched
+	private final MoveList scratchMoves;
+
+
+
+	// Constructor
+	public SearchBoard(final Board board) {
+		// Initialize the board arrays
+		this.boardConfiguration = new int[BoardUtils.NUM_TILES];
+		this.pieceBitboards = new long[BoardUtils.NUM_PIECE_BITBOARDS];
+		this.allianceOccupancy = new long[ALLIANCES.length];
+		this.material = new int[ALLIANCES.length];
+
+		// Loop through all the tiles on the board
+		for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+			// Variable to store the piece on the tile
+			final Piece piece = board.getPiece(i);
+
+			// Check if the tile is occupied
+			if (piece != null) {
+				// Place the piece's code on the tile
+				putPiece(i, BoardUtils.getBitboardIndex(piece.getPieceAlliance(), piece.getPieceType()) + 1);
+			}
+		}
+		// Variable to store the alliance that moves next
+		final Alliance moveMaker = board.currentPlayer().getAlliance();
+		// Set the side to move
+		this.sideToMove = moveMaker.ordinal();
+		// Copy the castling rights of the board
+		this.castlingRights = board.getCastlingRights();
+		// Set the en passant tile to the tile behind an enemy pawn that just jumped
+		this.enPassantCoordinate = board.getEnPassantPawn() != null && board.getEnPassantPawn().getPieceAlliance() != moveMaker ?
+								   board.getEnPassantPawn().getPiecePosition() + (moveMaker.getDirection() * 8) : NO_EN_PASSANT;
+		// Copy the zobrist key of the board
+		this.zobristKey = board.getZobristKey();
+
+		// Initialize the undo stack
+		this.undoMoves = new int[MAX_MOVES];
+		this.undoCapturedPieces = new int[MAX_MOVES];
+		this.undoEnPassantCoordinates = new int[MAX_MOVES];
+		this.undoCastlingRights = new int[MAX_MOVES];
+		this.undoZobristKeys = new long[MAX_MOVES];
+		// Initialize the move lists for each ply - each one is created the first time its ply is reached
+		this.moveLists = new MoveList[MAX_MOVES];
+		this.scratchMoves = new MoveList();
+	}
+
+
+
+	// Constructor that copies the position of another search board - the copy has its own undo stack and move lists, so
+	// it can be searched on another thread while the original is used on this one
+	public SearchBoard(final SearchBoard searchBoard) {
+		// Copy the board arrays
+		this.boardConfiguration = searchBoard.boardConfiguration.clone();
+		this.pieceBitboards = searchBoard.pieceBitboards.clone();
+		this.allianceOccupancy = searchBoard.allianceOccupancy.clone();
+		this.material = searchBoard.material.clone();
+		// Copy the side to move, en passant tile, castling rights and zobrist key
+		this.sideToMove = searchBoard.sideToMove;
+		this.enPassantCoordinate = searchBoard.enPassantCoordinate;
+		this.castlingRights = searchBoard.castlingRights;
+		this.zobristKey = searchBoard.zobristKey;
+
+		// Initialize an empty undo stack - the moves made before the copy can't be unmade on it
+		this.undoMoves = new int[MAX_MOVES];
+		this.undoCapturedPieces = new int[MAX_MOVES];
+		this.undoEnPassantCoordinates = new int[MAX_MOVES];
+		this.undoCastlingRights = new int[MAX_MOVES];
+		this.undoZobristKeys = new long[MAX_MOVES];
+		// Initialize the move lists for each ply
+		this.moveLists = new MoveList[MAX_MOVES];
+		this.scratchMoves = new MoveList();
+	}
+
+
+
+	// Getter method for the alliance of the side to move
+	public Alliance getMoveMaker() {
+		// Return the alliance for the side to move index
+		return ALLIANCES[this.sideToMove];
+	}
+
+	// Getter method for the number of moves made and not yet unmade
+	public int getPly() {
+		// Return the ply
+		return this.ply;
+	}
+
+	// Getter method for the zobrist key of the position
+	public long getZobristKey() {
+		// Return the zobrist key
+		return this.zobristKey;
+	}
+
+	// Getter method for the total value of a color's pieces, the king included
+	public int getMaterial(final Alliance alliance) {
+		// Return the running total for the color
+		return this.material[alliance.ordinal()];
+	}
+
+	// Getter method for the type of the piece on a tile - null if the tile is empty
+	public PieceType getPieceType(final int coordinate) {
+		// Return the type for the piece code on the tile
+		return this.boardConfiguration[coordinate] == EMPTY ? null : PIECE_TYPES[(this.boardConfiguration[coordinate] - 1) % PIECE_TYPES.length];
+	}
+
+	// Method to check if the side to move is in check
+	public boolean isInCheck() {
+		// Return true if the side to move's king is attacked
+		return isKingAttacked(this.sideToMove);
+	}
+
+	// Method to check if a color's king is in check - whichever side is to move
+	public boolean isInCheck(final Alliance alliance) {
+		// Return true if the color's king is attacked
+		return isKingAttacked(alliance.ordinal());
+	}
+
+	// Method to check if a tile is attacked by a color
+	public boolean isSquareAttacked(final int coordinate, final Alliance attackingAlliance) {
+		// Return true if any piece of the color attacks the tile
+		return isAttacked(coordinate, attackingAlliance);
+	}
+
+
+
+	// Method to generate the legal moves of the side to move into the move list kept for the current ply
+	public MoveList generateLegalMoves() {
+		
+		// Check if the move list array needs to grow to reach the current ply
+		if (this.ply >= this.moveLists.length) {
+			// Double the size of the move list array
+			this.moveLists = Arrays.copyOf(this.moveLists, this.ply * 2);
+		}
+		
+		// Check if the current ply doesn't have a move list yet
+		if (this.moveLists[this.ply] == null) {
+			// Create the move list for the ply
+			this.moveLists[this.ply] = new MoveList();
+		}
+		// Variable to store the move list for the ply
+		final MoveList moves = this.moveLists[this.ply];
+		// Empty the list and fill it with the legal moves
+		moves.clear();
+		generateLegalMoves(moves);
+		// Return the move list - it stays valid until a move list is generated at this ply again
+		return moves;
+	}
+	
+	
+	
+	// Method to add the legal moves of the side to move to a move list
+	public void generateLegalMoves(final MoveList moves) {
+		// Add every kind of legal move of every piece
+		generateLegalMoves(moves, ~0L, ALL_MOVES);
+	}
+
+	// Method to add the legal moves of only the side to move's pieces standing on a bitboard of tiles to a move list
+	public void generateLegalMoves(final MoveList moves, final long pieceTiles) {
+		// Add every kind of legal move of the wanted pieces
+		generateLegalMoves(moves, pieceTiles, ALL_MOVES);
+	}
+
+	// Method to add the legal captures and pawn promotions of the side to move to a move list - the other moves aren't made
+	public void generateLegalCaptures(final MoveList moves) {
+		// Add only the legal captures and promotions of every piece
+		generateLegalMoves(moves, ~0L, CAPTURE_MOVES);
+	}
+
+	// Method to add the legal moves of the side to move that neither capture nor promote to a move list, castles included
+	public void generateLegalQuietMoves(final MoveList moves) {
+		// Add only the legal quiet moves of every piece
+		generateLegalMoves(moves, ~0L, QUIET_MOVES);
+	}
+
+
+
+	// Method to check if an encoded move is legal for the side to move - only the moves of the piece on its source tile
+	// are generated to find it
+	public boolean isMoveLegal(final int move) {
+		// Generate the legal moves of the piece on the source tile
+		this.scratchMoves.clear();
+		generateLegalMoves(this.scratchMoves, BoardUtils.getTileBit(MoveUtils.getCurrentCoordinate(move)), ALL_MOVES);
+
+		// Loop through the piece's legal moves
+		for (int i = 0; i < this.scratchMoves.size(); i++) {
+
+			// Check if it is the same move
+			if (this.scratchMoves.get(i) == move) {
+				// Return true - the move is legal
+				return true;
+			}
+		}
+		// Return false - the piece can't make the move
+		return false;
+	}
+
+
+
+	// Method to count the legal moves of a color, castles included - the side that isn't to move is counted as if it were,
+	// without an en passant capture as the pawn that just jumped is its own
+	public int countLegalMoves(final Alliance alliance) {
+		// Variables to store the side to move and en passant tile so they can be put back
+		final int sideToMove = this.sideToMove;
+		final int enPassantCoordinate = this.enPassantCoordinate;
+
+		// Check if the color isn't the side to move
+		if (alliance.ordinal() != sideToMove) {
+			// Hand the move to the color for the count
+			this.sideToMove = alliance.ordinal();
+			this.enPassantCoordinate = NO_EN_PASSANT;
+		}
+		// Generate the legal moves of the color
+		this.scratchMoves.clear();
+		generateLegalMoves(this.scratchMoves, ~0L, ALL_MOVES);
+		// Put back the side to move and en passant tile and return the count
+		this.sideToMove = sideToMove;
+		this.enPassantCoordinate = enPassantCoordinate;
+		return this.scratchMoves.size();
+	}
+
+
+
+	// Method to add the legal moves of a kind of the side to move's pieces standing on a bitboard of tiles to a move list
+	private void generateLegalMoves(final MoveList moves, final long pieceTiles, final int moveKinds) {
+		// Variables to store the side making the moves and the size of the list before any are added
+		final int mover = this.sideToMove;
+		final int firstMove = moves.size();
+		// Variables to store the mover's king tile, whether it is in check and the mover's pieces pinned to the king - a piece
+		// that isn't pinned can't expose the king when it isn't in check, so only the other moves have to be made to be tested
+		final int kingCoordinate = Long.numberOfTrailingZeros(getPieceBitboard(ALLIANCES[mover], PieceType.KING));
+		final boolean inCheck = isKingAttacked(mover);
+		final long pinnedPieces = inCheck ? 0L : calculatePinnedPieces(kingCoordinate);
+		// Add the pseudo legal moves to the list
+		generatePseudoLegalMoves(moves, pieceTiles, moveKinds);
+		// Variable to store the number of moves kept so far
+		int numLegalMoves = firstMove;
+
+		// Loop through all the pseudo legal moves
+		for (int i = firstMove; i < moves.size(); i++) {
+			// Variable to store the move being tested
+			final int move = moves.get(i);
+
+			// Check if the move keeps the mover's king safe
+			if (isLegalMove(move, kingCoordinate, inCheck, pinnedPieces)) {
+				// Keep the move
+				moves.set(numLegalMoves++, move);
+			}
+		}
+		// Drop the moves that weren't kept
+		moves.truncate(numLegalMoves);
+	}
+
+
+
+	// Method to check if a pseudo legal move leaves the mover's king safe
+	private boolean isLegalMove(final int move, final int kingCoordinate, final boolean inCheck, final long pinnedPieces) {
+		// Variables to store the tiles of the move
+		final int currentCoordinate = MoveUtils.getCurrentCoordinate(move);
+		final int destinationCoordinate = MoveUtils.getDestinationCoordinate(move);
+
+		// Check what kind of move it is
+		if (currentCoordinate == kingCoordinate) {
+			// Return true if the destination isn't attacked once the king has left its tile - so it can't step back along a checking ray
+			return BoardUtils.calculateAttackers(destinationCoordinate, ALLIANCES[this.sideToMove ^ 1], this.pieceBitboards,
+												 (this.allianceOccupancy[0] | this.allianceOccupancy[1]) ^ BoardUtils.getTileBit(kingCoordinate)) == 0;
+		} else if (!inCheck && MoveUtils.getFlag(move) != MoveUtils.EN_PASSANT) {
+			// Return true if the piece isn't pinned or stays on its pin line
+			return (pinnedPieces & BoardUtils.getTileBit(currentCoordinate)) == 0 ||
+				   (MagicBitboards.getTilesOnLine(kingCoordinate, currentCoordinate) & BoardUtils.getTileBit(destinationCoordinate)) != 0;
+		}
+		// Variable to store the side making the move
+		final int mover = this.sideToMove;
+		// Make the move to see if it leaves the mover's king attacked - for check evasions and en passant
+		makeMove(move);
+		final boolean isLegal = !isKingAttacked(mover);
+		// Put the board back and return the result
+		unmakeMove();
+		return isLegal;
+	}
+
+
+
+	// Method to find the pieces of the side to move that can't leave the line between their king and an enemy sliding piece
+	private long calculatePinnedPieces(final int kingCoordinate) {
+		// Variable to store the opponent
+		final Alliance opponent = ALLIANCES[this.sideToMove ^ 1];
+		// Variables to store the opponent's sliding pieces - queens pin along both kinds of ray
+		final long queens = getPieceBitboard(opponent, PieceType.QUEEN);
+		final long diagonalSliders = getPieceBitboard(opponent, PieceType.BISHOP) | queens;
+		final long straightSliders = getPieceBitboard(opponent, PieceType.ROOK) | queens;
+		// Variable to store the opponent's occupancy - only enemy pieces stop the rays so the mover's own pieces are seen through
+		final long opponentOccupancy = this.allianceOccupancy[this.sideToMove ^ 1];
+		// Variable to store the sliding pieces that would attack the king if the mover's own pieces were removed
+		long pinners = (MagicBitboards.getBishopAttacks(kingCoordinate, opponentOccupancy) & diagonalSliders) |
+					   (MagicBitboards.getRookAttacks(kingCoordinate, opponentOccupancy) & straightSliders);
+		// Variable to store the pinned pieces
+		long pinnedPieces = 0L;
+
+		// Loop through the possible pinners
+		while (pinners != 0) {
+			// Variable to store the pieces between the king and the pinner
+			final long blockers = MagicBitboards.getTilesBetween(kingCoordinate, Long.numberOfTrailingZeros(pinners)) &
+								  (this.allianceOccupancy[0] | this.allianceOccupancy[1]);
+
+			// Check if exactly one piece stands in the way - it must be the mover's own as enemy pieces stopped the ray
+			if (Long.bitCount(blockers) == 1) {
+				// Add the piece to the pinned pieces
+				pinnedPieces |= blockers;
+			}
+			// Clear the lowest pinner
+			pinners &= pinners - 1;
+		}
+		// Return the pinned pieces
+		return pinnedPieces & this.allianceOccupancy[this.sideToMove];
+	}
+
+
+
+	// Method to make an encoded move in place
+	public void makeMove(final int move) {
+		// Variables to store the tiles and flag of the move
+		final int currentCoordinate = MoveUtils.getCurrentCoordinate(move);
+		final int destinationCoordinate = MoveUtils.getDestinationCoordinate(move);
+		final int flag = MoveUtils.getFlag(move);
+		// Variables to store the moved piece and the direction the mover's pawns move in
+		final int movedPiece = this.boardConfiguration[currentCoordinate];
+		final int direction = ALLIANCES[this.sideToMove].getDirection();
+
+		// Make sure the undo stack has room for the move
+		ensureUndoCapacity();
+		// Push the move and the state it is about to change on to the undo stack
+		this.undoMoves[this.ply] = move;
+		this.undoEnPassantCoordinates[this.ply] = this.enPassantCoordinate;
+		this.undoCastlingRights[this.ply] = this.castlingRights;
+		this.undoZobristKeys[this.ply] = this.zobristKey;
+
+		// Variable to store the tile of a captured piece - behind the destination for en passant
+		final int capturedCoordinate = flag == MoveUtils.EN_PASSANT ? destinationCoordinate - (direction * 8) : destinationCoordinate;
+		// Variable to store the captured piece - empty if nothing is taken
+		final int capturedPiece = this.boardConfiguration[capturedCoordinate];
+		// Push the captured piece on to the undo stack
+		this.undoCapturedPieces[this.ply] = capturedPiece;
+
+		// Check if a piece is captured
+		if (capturedPiece != EMPTY) {
+			// Remove the captured piece
+			removePiece(capturedCoordinate, capturedPiece);
+		}
+		// Take the moved piece off its tile
+		removePiece(currentCoordinate, movedPiece);
+		// Place the moved piece on the destination tile - a promoted pawn becomes its promotion piece
+		putPiece(destinationCoordinate, MoveUtils.isPromotion(move) ?
+										movedPiece + (MoveUtils.getPromotionPieceType(move).ordinal() - PieceType.PAWN.ordinal()) : movedPiece);
+
+		// Check if the move is a castle
+		if (flag == MoveUtils.KING_SIDE_CASTLE) {
+			// Move the rook from the corner to the tile the king passed over
+			movePiece(currentCoordinate + 3, currentCoordinate + 1);
+		} else if (flag == MoveUtils.QUEEN_SIDE_CASTLE) {
+			// Move the rook from the corner to the tile the king passed over
+			movePiece(currentCoordinate - 4, currentCoordinate - 1);
+		}
+
+		// Take the old en passant tile and castling rights out of the key
+		this.zobristKey ^= Zobrist.getEnPassantKey(this.enPassantCoordinate) ^ Zobrist.getCastlingKey(this.castlingRights);
+		// Set the en passant tile if a pawn jumped, otherwise clear it
+		this.enPassantCoordinate = flag == MoveUtils.PAWN_JUMP ? currentCoordinate + (direction * 8) : NO_EN_PASSANT;
+		// Remove any castling rights lost by pieces leaving or arriving on a king or rook home tile
+		this.castlingRights = BoardUtils.updateCastlingRights(this.castlingRights, currentCoordinate, destinationCoordinate);
+		// Put the new en passant tile, castling rights and side to move into the key
+		this.zobristKey ^= Zobrist.getEnPassantKey(this.enPassantCoordinate) ^ Zobrist.getCastlingKey(this.castlingRights) ^
+						   Zobrist.getMoveMakerKey();
+		// Pass the move to the opponent
+		this.sideToMove ^= 1;
+		// Increment the ply
+		this.ply++;
+	}
+
+
+
+	// Method to unmake the last move made
+	public void unmakeMove() {
+		// Decrement the ply and hand the move back to the side that made it
+		this.ply--;
+		this.sideToMove ^= 1;
+
+		// Variables to store the move being unmade and its tiles and flag
+		final int move = this.undoMoves[this.ply];
+		final int currentCoordinate = MoveUtils.getCurrentCoordinate(move);
+		final int destinationCoordinate = MoveUtils.getDestinationCoordinate(move);
+		final int flag = MoveUtils.getFlag(move);
+		// Variable to store the piece on the destination tile
+		final int movedPiece = this.boardConfiguration[destinationCoordinate];
+
+		// Check if the move is a castle
+		if (flag == MoveUtils.KING_SIDE_CASTLE) {
+			// Move the rook back to its corner
+			movePiece(currentCoordinate + 1, currentCoordinate + 3);
+		} else if (flag == MoveUtils.QUEEN_SIDE_CASTLE) {
+			// Move the rook back to its corner
+			movePiece(currentCoordinate - 1, currentCoordinate - 4);
+		}
+		// Take the moved piece off the destination tile
+		removePiece(destinationCoordinate, movedPiece);
+		// Put the piece back on its tile - a promoted piece turns back into a pawn
+		putPiece(currentCoordinate, MoveUtils.isPromotion(move) ?
+									movedPiece - (MoveUtils.getPromotionPieceType(move).ordinal() - PieceType.PAWN.ordinal()) : movedPiece);
+
+		// Variable to store the captured piece from the undo stack
+		final int capturedPiece = this.undoCapturedPieces[this.ply];
+
+		// Check if a piece was captured
+		if (capturedPiece != EMPTY) {
+			// Put the captured piece back - behind the destination for en passant
+			putPiece(flag == MoveUtils.EN_PASSANT ? destinationCoordinate - (ALLIANCES[this.sideToMove].getDirection() * 8) : destinationCoordinate,
+					 capturedPiece);
+		}
+		// Restore the en passant tile, castling rights and zobrist key
+		this.enPassantCoordinate = this.undoEnPassantCoordinates[this.ply];
+		this.castlingRights = this.undoCastlingRights[this.ply];
+		this.zobristKey = this.undoZobristKeys[this.ply];
+	}
+
+
+
+	// Method to create an immutable snapshot of the search board
+	public Board toBoard() {
+		// Initialize a new builder
+		final Board.Builder builder = new Board.Builder();
+
+		// Loop through all the tiles on the board
+		for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+
+			// Check if the tile is occupied
+			if (this.boardConfiguration[i] != EMPTY) {
+				// Set a piece for the code on the tile
+				builder.setPiece(createPiece(this.boardConfiguration[i], i));
+			}
+		}
+
+		// Check if there is an en passant tile
+		if (this.enPassantCoordinate != NO_EN_PASSANT) {
+			// Set the pawn that jumped over the en passant tile as the en passant pawn
+			builder.setEnPassantPawn((Pawn) createPiece(this.boardConfiguration[this.enPassantCoordinate - (getMoveMaker().getDirection() * 8)],
+														this.enPassantCoordinate - (getMoveMaker().getDirection() * 8)));
+		}
+		// Set the move maker and the castling rights
+		builder.setMoveMaker(getMoveMaker());
+		builder.setCastlingRights(this.castlingRights);
+		// Return the new board
+		return builder.build();
+	}
+
+
+
+	// Method to add the moves of a kind of the side to move's pieces standing on a bitboard of tiles that follow the piece
+	// rules - some may leave the king attacked
+	private void generatePseudoLegalMoves(final MoveList moves, final long pieceTiles, final int moveKinds) {
+		// Variables to store the alliance of each side
+		final Alliance alliance = ALLIANCES[this.sideToMove];
+		// Variables to store the tiles occupied by each side and by either side
+		final long friendlyPieces = this.allianceOccupancy[this.sideToMove];
+		final long enemyPieces = this.allianceOccupancy[this.sideToMove ^ 1];
+		final long occupancy = friendlyPieces | enemyPieces;
+		// Variables to store if the captures and promotions, and the other moves, are wanted
+		final boolean captureMoves = (moveKinds & CAPTURE_MOVES) != 0;
+		final boolean quietMoves = (moveKinds & QUIET_MOVES) != 0;
+		// Variable to store the tiles the mover's pieces other than pawns can move to - enemy pieces for captures, empty tiles otherwise
+		final long targetTiles = (captureMoves ? enemyPieces : 0L) | (quietMoves ? ~occupancy : 0L);
+
+		// Loop through the mover's wanted pawns
+		for (long pawns = getPieceBitboard(alliance, PieceType.PAWN) & pieceTiles; pawns != 0; pawns &= pawns - 1) {
+			// Variables to store the pawn's tile and the tile in front of it
+			final int currentCoordinate = Long.numberOfTrailingZeros(pawns);
+			final int forwardCoordinate = currentCoordinate + (alliance.getDirection() * 8);
+			// Variable to store if the step forward promotes - a promotion counts with the captures
+			final boolean isPromotion = alliance.isPawnPromotionSquare(forwardCoordinate);
+
+			// Check if the tile in front is empty and the step forward is a wanted kind of move
+			if ((occupancy & BoardUtils.getTileBit(forwardCoordinate)) == 0 && (isPromotion ? captureMoves : quietMoves)) {
+				// Add the single step - a promotion to each piece if it reaches the last rank
+				addPawnMove(moves, currentCoordinate, forwardCoordinate, isPromotion ? MoveUtils.PROMOTION : MoveUtils.QUIET_MOVE);
+				// Variable to store the tile two steps in front
+				final int jumpCoordinate = forwardCoordinate + (alliance.getDirection() * 8);
+
+				// Check if the pawn is on its starting rank and the jump tile is empty
+				if ((alliance.isWhite() ? BoardUtils.SECOND_RANK[currentCoordinate] : BoardUtils.SEVENTH_RANK[currentCoordinate]) &&
+						(occupancy & BoardUtils.getTileBit(jumpCoordinate)) == 0) {
+					// Add the pawn jump
+					moves.add(MoveUtils.encode(currentCoordinate, jumpCoordinate, MoveUtils.PAWN_JUMP));
+				}
+			}
+
+			// Check if the captures aren't wanted
+			if (!captureMoves) {
+				continue;
+			}
+			// Variable to store the tiles the pawn attacks
+			final long pawnAttacks = BoardUtils.getPawnAttacks(alliance, currentCoordinate);
+
+			// Loop through the attacked tiles holding an enemy piece
+			for (long captures = pawnAttacks & enemyPieces; captures != 0; captures &= captures - 1) {
+				// Variable to store the tile of the captured piece
+				final int destinationCoordinate = Long.numberOfTrailingZeros(captures);
+				// Add the capture - a promotion to each piece if it reaches the last rank
+				addPawnMove(moves, currentCoordinate, destinationCoordinate,
+							alliance.isPawnPromotionSquare(destinationCoordinate) ? MoveUtils.PROMOTION_CAPTURE : MoveUtils.CAPTURE);
+			}
+
+			// Check if the pawn attacks the en passant tile
+			if (this.enPassantCoordinate != NO_EN_PASSANT && (pawnAttacks & BoardUtils.getTileBit(this.enPassantCoordinate)) != 0) {
+				// Add the en passant capture
+				moves.add(MoveUtils.encode(currentCoordinate, this.enPassantCoordinate, MoveUtils.EN_PASSANT));
+			}
+		}
+
+		// Loop through the piece types that move straight to the tiles they attack
+		for (final PieceType pieceType : PIECE_TYPES) {
+
+			// Skip pawns - their moves were added above
+			if (pieceType == PieceType.PAWN) {
+				continue;
+			}
+
+			// Loop through the mover's wanted pieces of the type
+			for (long pieces = getPieceBitboard(alliance, pieceType) & pieceTiles; pieces != 0; pieces &= pieces - 1) {
+				// Variable to store the piece's tile
+				final int currentCoordinate = Long.numberOfTrailingZeros(pieces);
+
+				// Loop through the attacked tiles holding a wanted kind of target
+				for (long destinations = calculatePieceAttacks(pieceType, currentCoordinate, occupancy) & targetTiles;
+						destinations != 0; destinations &= destinations - 1) {
+					// Variable to store the destination tile
+					final int destinationCoordinate = Long.numberOfTrailingZeros(destinations);
+					// Add the move - a capture if an enemy piece is on the destination tile
+					moves.add(MoveUtils.encode(currentCoordinate, destinationCoordinate,
+														 (enemyPieces & BoardUtils.getTileBit(destinationCoordinate)) != 0 ? MoveUtils.CAPTURE : MoveUtils.QUIET_MOVE));
+				}
+			}
+		}
+		// Check if the quiet moves are wanted and the king is one of the wanted pieces
+		if (quietMoves && (getPieceBitboard(alliance, PieceType.KING) & pieceTiles) != 0) {
+			// Add the castling moves
+			generateCastlingMoves(moves, occupancy);
+		}
+	}
+
+
+
+	// Method to add a pawn move - one move for each piece the pawn can become if the flag is a promotion
+	private static void addPawnMove(final MoveList moves, final int currentCoordinate, final int destinationCoordinate, final int flag) {
+
+		// Check if the move isn't a promotion
+		if ((flag & MoveUtils.PROMOTION) == 0) {
+			// Add the single move
+			moves.add(MoveUtils.encode(currentCoordinate, destinationCoordinate, flag));
+			return;
+		}
+		// Loop through the piece types the pawn can become and add a promotion to each
+		for (final PieceType promotionPieceType : PROMOTION_PIECE_TYPES) {
+			moves.add(MoveUtils.encode(currentCoordinate, destinationCoordinate, flag, promotionPieceType));
+		}
+	}
+
+
+
+	// Method to add the castling moves of the side to move
+	private void generateCastlingMoves(final MoveList moves, final long occupancy) {
+		// Variables to store the king's home tile and the castling rights of the side to move
+		final int kingCoordinate = this.sideToMove == Alliance.WHITE.ordinal() ? 60 : 4;
+		final int kingSide = this.sideToMove == Alliance.WHITE.ordinal() ? BoardUtils.WHITE_KING_SIDE_CASTLE : BoardUtils.BLACK_KING_SIDE_CASTLE;
+		final int queenSide = this.sideToMove == Alliance.WHITE.ordinal() ? BoardUtils.WHITE_QUEEN_SIDE_CASTLE : BoardUtils.BLACK_QUEEN_SIDE_CASTLE;
+		// Variable to store the enemy side
+		final Alliance opponent = ALLIANCES[this.sideToMove ^ 1];
+
+		// Check if the side to move can castle at all and isn't in check
+		if ((this.castlingRights & (kingSide | queenSide)) == 0 || isAttacked(kingCoordinate, opponent)) {
+			// Return without adding any moves
+			return;
+		}
+
+		// Check if king side castling is allowed, the tiles between king and rook are empty and the king doesn't pass through an attack
+		if ((this.castlingRights & kingSide) != 0 &&
+				(occupancy & (BoardUtils.getTileBit(kingCoordinate + 1) | BoardUtils.getTileBit(kingCoordinate + 2))) == 0 &&
+				!isAttacked(kingCoordinate + 1, opponent) && !isAttacked(kingCoordinate + 2, opponent)) {
+			// Add the king side castle
+			moves.add(MoveUtils.encode(kingCoordinate, kingCoordinate + 2, MoveUtils.KING_SIDE_CASTLE));
+		}
+
+		// Check if queen side castling is allowed, the tiles between king and rook are empty and the king doesn't pass through an attack
+		if ((this.castlingRights & queenSide) != 0 &&
+				(occupancy & (BoardUtils.getTileBit(kingCoordinate - 1) | BoardUtils.getTileBit(kingCoordinate - 2) |
+							  BoardUtils.getTileBit(kingCoordinate - 3))) == 0 &&
+				!isAttacked(kingCoordinate - 1, opponent) && !isAttacked(kingCoordinate - 2, opponent)) {
+			// Add the queen side castle
+			moves.add(MoveUtils.encode(kingCoordinate, kingCoordinate - 2, MoveUtils.QUEEN_SIDE_CASTLE));
+		}
+	}
+
+
+
+	// Method to return the tiles a non-pawn piece attacks from a tile
+	private static long calculatePieceAttacks(final PieceType pieceType, final int coordinate, final long occupancy) {
+
+		// Look up the attacks for the piece type
+		switch (pieceType) {
+			case KNIGHT:
+				return BoardUtils.KNIGHT_ATTACKS[coordinate];
+			case BISHOP:
+				return MagicBitboards.getBishopAttacks(coordinate, occupancy);
+			case ROOK:
+				return MagicBitboards.getRookAttacks(coordinate, occupancy);
+			case QUEEN:
+				return MagicBitboards.getQueenAttacks(coordinate, occupancy);
+			case KING:
+				return BoardUtils.KING_ATTACKS[coordinate];
+			default:
+				// Throw a runtime exception error - pawn attacks depend on the color
+				throw new RuntimeException("Should not reach here!");
+		}
+	}
+
+
+
+	// Method to check if the king of a side is attacked
+	private boolean isKingAttacked(final int side) {
+		// Return true if the enemy attacks the king's tile
+		return isAttacked(Long.numberOfTrailingZeros(getPieceBitboard(ALLIANCES[side], PieceType.KING)), ALLIANCES[side ^ 1]);
+	}
+
+	// Method to check if a tile is attacked by a color
+	private boolean isAttacked(final int coordinate, final Alliance attackingAlliance) {
+		// Return true if any piece of the color attacks the tile
+		return BoardUtils.calculateAttackers(coordinate, attackingAlliance, this.pieceBitboards,
+											 this.allianceOccupancy[0] | this.allianceOccupancy[1]) != 0;
+	}
+
+
+
+	// Getter method for the bitboard of a piece type of one color
+	private long getPieceBitboard(final Alliance alliance, final PieceType pieceType) {
+		// Return the bitboard for the alliance and piece type
+		return this.pieceBitboards[BoardUtils.getBitboardIndex(alliance, pieceType)];
+	}
+
+
+
+	// Method to place a piece code on a tile
+	private void putPiece(final int coordinate, final int piece) {
+		// Variable to store the bit for the tile
+		final long tileBit = BoardUtils.getTileBit(coordinate);
+		// Set the piece on the tile and in its bitboards
+		this.boardConfiguration[coordinate] = piece;
+		this.pieceBitboards[piece - 1] |= tileBit;
+		this.allianceOccupancy[(piece - 1) / PIECE_TYPES.length] |= tileBit;
+		// Add the piece to its color's material and the key
+		this.material[(piece - 1) / PIECE_TYPES.length] += PIECE_TYPES[(piece - 1) % PIECE_TYPES.length].getPieceValue();
+		this.zobristKey ^= Zobrist.getPieceKey(piece - 1, coordinate);
+	}
+
+	// Method to remove a piece code from a tile
+	private void removePiece(final int coordinate, final int piece) {
+		// Variable to store the bit for the tile
+		final long tileBit = BoardUtils.getTileBit(coordinate);
+		// Clear the tile and the piece's bitboards
+		this.boardConfiguration[coordinate] = EMPTY;
+		this.pieceBitboards[piece - 1] &= ~tileBit;
+		this.allianceOccupancy[(piece - 1) / PIECE_TYPES.length] &= ~tileBit;
+		// Take the piece off its color's material and out of the key
+		this.material[(piece - 1) / PIECE_TYPES.length] -= PIECE_TYPES[(piece - 1) % PIECE_TYPES.length].getPieceValue();
+		this.zobristKey ^= Zobrist.getPieceKey(piece - 1, coordinate);
+	}
+
+	// Method to move whatever is on one tile to another empty tile
+	private void movePiece(final int currentCoordinate, final int destinationCoordinate) {
+		// Variable to store the piece being moved
+		final int piece = this.boardConfiguration[currentCoordinate];
+		// Take the piece off its tile and put it on the destination
+		removePiece(currentCoordinate, piece);
+		putPiece(destinationCoordinate, piece);
+	}
+
+
+
+	// Method to grow the undo stack when a line gets longer than it
+	private void ensureUndoCapacity() {
+
+		// Check if the undo stack is full
+		if (this.ply == this.undoMoves.length) {
+			// Double the size of each array of the undo stack
+			this.undoMoves = Arrays.copyOf(this.undoMoves, this.ply * 2);
+			this.undoCapturedPieces = Arrays.copyOf(this.undoCapturedPieces, this.ply * 2);
+			this.undoEnPassantCoordinates = Arrays.copyOf(this.undoEnPassantCoordinates, this.ply * 2);
+			this.undoCastlingRights = Arrays.copyOf(this.undoCastlingRights, this.ply * 2);
+			this.undoZobristKeys = Arrays.copyOf(this.undoZobristKeys, this.ply * 2);
+		}
+	}
+
+
+
+	// Method to create a piece object for a piece code - used when taking a snapshot
+	private Piece createPiece(final int pieceCode, final int coordinate) {
+		// Variables to store the alliance and type of the piece
+		final Alliance alliance = ALLIANCES[(pieceCode - 1) / PIECE_TYPES.length];
+		final PieceType pieceType = PIECE_TYPES[(pieceCode - 1) % PIECE_TYPES.length];
+
+		// Variable to store whether the piece is on its first move - pawns until they leave their start rank, kings and rooks
+		// while their castling rights remain, and never for the other pieces
+		final boolean isFirstMove;
+
+		// Check what type the piece is
+		if (pieceType == PieceType.PAWN) {
+			isFirstMove = alliance.isWhite() ? BoardUtils.SECOND_RANK[coordinate] : BoardUtils.SEVENTH_RANK[coordinate];
+		} else if (pieceType == PieceType.ROOK || pieceType == PieceType.KING) {
+			isFirstMove = BoardUtils.updateCastlingRights(this.castlingRights, coordinate, coordinate) != this.castlingRights;
+		} else {
+			isFirstMove = false;
+		}
+		// Return the shared instance of the piece
+		return PieceUtils.getPiece(alliance, pieceType, coordinate, isFirstMove);
+	}
+}
@@ -1,10 +1,9 @@
 package com.chess.engine.board;
 
-import java.util.HashMap;
-import java.util.Map;
-
+import com.chess.engine.Alliance;
 import com.chess.engine.pieces.Piece;
-import com.google.common.collect.ImmutableMap;
+import com.chess.engine.pieces.Piece.PieceType;
+import com.chess.engine.pieces.PieceUtils;
 
 
 
@@ -13,31 +12,68 @@ public abstract class Tile {
 	// Variable to store coordinates of a tile - can only be accessed by sub classes and value can't be changed after its assigned during construction
 	protected final int tileCoordinate;
 	
-	// Declare a new member field to hold all the possible empty tiles up front so that they never have to be created again
-	private static final Map<Integer, EmptyTile> EMPTY_TILES_CACHE = createAllPossibleEmptyTiles();
+	// Declare a new member field to hold all the possible empty tiles up front so that they never have to be created again - indexed by tile coordinate
+	private static final EmptyTile[] EMPTY_TILES_CACHE = createAllPossibleEmptyTiles();
+	
+	// Every occupied tile holding one of the shared pieces on its own tile - indexed by piece bitboard, tile and first move
+	private static final OccupiedTile[][][] OCCUPIED_TILES_CACHE = createAllPossibleOccupiedTiles();
 	
 	
 	
-	// Method to store all possible empty tiles in a hash map
-	private static Map<Integer, EmptyTile> createAllPossibleEmptyTiles() {
-		// Declare a hash map to store all empty tiles
-		final Map<Integer, EmptyTile> emptyTileMap = new HashMap<>();
+	// Method to store all possible empty tiles in an array
+	private static EmptyTile[] createAllPossibleEmptyTiles() {
+		// Declare an array to store all empty tiles
+		final EmptyTile[] emptyTiles = new EmptyTile[BoardUtils.NUM_TILES];
 		
 		// Loop through all 64 tiles
 		for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
-			// Add a new empty tile to hash map
-			emptyTileMap.put(i, new EmptyTile(i));
+			// Add a new empty tile to the array
+			emptyTiles[i] = new EmptyTile(i);
 		}
-		// Declare and return an immutable map with the value of the hash map so that its values can't be changed or deleted.
-		return ImmutableMap.copyOf(emptyTileMap);
+		// Return the array of empty tiles
+		return emptyTiles;
+	}
+	
+	
+	
+	// Method to store an occupied tile for every shared piece
+	private static OccupiedTile[][][] createAllPossibleOccupiedTiles() {
+		// Declare an array to store the occupied tiles
+		final OccupiedTile[][][] occupiedTiles = new OccupiedTile[BoardUtils.NUM_PIECE_BITBOARDS][BoardUtils.NUM_TILES][2];
+		
+		// Loop through each color and piece type
+		for (final Alliance alliance : Alliance.values()) {
+			for (final PieceType pieceType : PieceType.values()) {
+				
+				// Loop through all 64 tiles
+				for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+					// Add a tile holding the shared piece off and on its first move
+					occupiedTiles[BoardUtils.getBitboardIndex(alliance, pieceType)][i][0] =
+							new OccupiedTile(i, PieceUtils.getPiece(alliance, pieceType, i, false));
+					occupiedTiles[BoardUtils.getBitboardIndex(alliance, pieceType)][i][1] =
+							new OccupiedTile(i, PieceUtils.getPiece(alliance, pieceType, i, true));
+				}
+			}
+		}
+		// Return the array of occupied tiles
+		return occupiedTiles;
 	}
 	
 	
 	
 	// Method for creating tiles as constructors are set as private - only method of this class that is accessible
 	public static Tile createTile(final int tileCoordinate, final Piece piece) {
-		// Return a new occupied tile if it contains a piece, if not get one of the empty tiles from our hash map
-		return piece != null ? new OccupiedTile(tileCoordinate, piece) : EMPTY_TILES_CACHE.get(tileCoordinate);
+		
+		// Check if the tile is empty
+		if (piece == null) {
+			// Return one of the empty tiles from the cache
+			return EMPTY_TILES_CACHE[tileCoordinate];
+		}
+		// Variable to store the cached tile for the piece on the tile
+		final OccupiedTile occupiedTile = OCCUPIED_TILES_CACHE[BoardUtils.getBitboardIndex(piece.getPieceAlliance(), piece.getPieceType())]
+															  [tileCoordinate][piece.isFirstMove() ? 1 : 0];
+		// Return the cached tile if it holds this exact piece - a piece made outside the shared pieces gets a new tile
+		return occupiedTile.getPiece() == piece ? occupiedTile : new OccupiedTile(tileCoordinate, piece);
 	}
 	
 	
@@ -0,0 +1,123 @@
+package com.chess.engine.board;
+
+import java.util.Random;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Pawn;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+
+
+
+public final class Zobrist {
+
+	// Seed for the random keys - fixed so a position hashes to the same key on every run
+	private static final long SEED = 0x5EED2B0A7D1C3F49L;
+
+	// Random keys for each piece bitboard on each tile
+	private static final long[][] PIECE_KEYS = new long[BoardUtils.NUM_PIECE_BITBOARDS][BoardUtils.NUM_TILES];
+	// Random key mixed in when black is to move
+	private static final long BLACK_TO_MOVE_KEY;
+	// Random keys for every combination of the four castling rights
+	private static final long[] CASTLING_KEYS = new long[BoardUtils.ALL_CASTLING_RIGHTS + 1];
+	// Random keys for the column of a pawn that has just jumped
+	private static final long[] EN_PASSANT_KEYS = new long[BoardUtils.NUM_TILES_PER_ROW];
+
+	// Fill in all the keys once when the class is first used
+	static {
+		// Random number generator for the keys
+		final Random random = new Random(SEED);
+
+		// Loop through every piece bitboard and tile
+		for (final long[] keys : PIECE_KEYS) {
+			for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+				keys[i] = random.nextLong();
+			}
+		}
+		// Fill in the side to move key
+		BLACK_TO_MOVE_KEY = random.nextLong();
+
+		// Loop through the castling rights combinations - no rights at all hashes to nothing
+		for (int i = 1; i < CASTLING_KEYS.length; i++) {
+			CASTLING_KEYS[i] = random.nextLong();
+		}
+
+		// Loop through the columns
+		for (int i = 0; i < EN_PASSANT_KEYS.length; i++) {
+			EN_PASSANT_KEYS[i] = random.nextLong();
+		}
+	}
+
+
+
+	// Constructor
+	private Zobrist() {
+		// Throw runtime exception in case someone tries to instantiate it
+		throw new RuntimeException("You cannot instantiate me!");
+	}
+
+
+
+	// Method to return the key of a piece on a tile
+	public static long getPieceKey(final Alliance alliance, final PieceType pieceType, final int coordinate) {
+		// Look up the key for the piece's bitboard and the tile
+		return PIECE_KEYS[BoardUtils.getBitboardIndex(alliance, pieceType)][coordinate];
+	}
+
+	// Method to return the key of the piece with a bitboard index on a tile - for the search board's piece codes
+	static long getPieceKey(final int bitboardIndex, final int coordinate) {
+		// Look up the key for the bitboard and the tile
+		return PIECE_KEYS[bitboardIndex][coordinate];
+	}
+
+	// Method to return the key of a piece on the tile it stands on
+	public static long getPieceKey(final Piece piece) {
+		// Look up the key using the piece's alliance, type and position
+		return getPieceKey(piece.getPieceAlliance(), piece.getPieceType(), piece.getPiecePosition());
+	}
+
+	// Method to return the key mixed in when black is to move - every move flips it in or out
+	public static long getMoveMakerKey() {
+		// Return the side to move key
+		return BLACK_TO_MOVE_KEY;
+	}
+
+	// Method to return the key of a set of castling rights
+	public static long getCastlingKey(final int castlingRights) {
+		// Look up the key for the combination of rights
+		return CASTLING_KEYS[castlingRights];
+	}
+
+	// Method to return the key of an en passant pawn - nothing when there isn't one
+	public static long getEnPassantKey(final Pawn enPassantPawn) {
+		// Look up the key for the column of the pawn
+		return enPassantPawn == null ? 0L : EN_PASSANT_KEYS[enPassantPawn.getPiecePosition() % BoardUtils.NUM_TILES_PER_ROW];
+	}
+
+	// Method to return the key of the tile a pawn just jumped over - nothing when it is negative, as there isn't one
+	static long getEnPassantKey(final int enPassantCoordinate) {
+		// Look up the key for the column of the tile - the same column as the pawn
+		return enPassantCoordinate < 0 ? 0L : EN_PASSANT_KEYS[enPassantCoordinate % BoardUtils.NUM_TILES_PER_ROW];
+	}
+
+
+
+	// Method to work out the key of a board from scratch - only needed for a board that wasn't made by executing a move
+	public static long calculateKey(final Board board) {
+		// Variable to store the key - starts with the side to move, castling rights and en passant pawn
+		long key = (board.currentPlayer().getAlliance().isBlack() ? BLACK_TO_MOVE_KEY : 0L) ^
+				   getCastlingKey(board.getCastlingRights()) ^ getEnPassantKey(board.getEnPassantPawn());
+		// Variable to store the occupied tiles
+		long remainingTiles = board.getOccupancy();
+
+		// Loop through the occupied tiles
+		while (remainingTiles != 0) {
+			// Mix in the key of the piece on the lowest occupied tile
+			key ^= getPieceKey(board.getPiece(Long.numberOfTrailingZeros(remainingTiles)));
+			// Clear the lowest occupied tile
+			remainingTiles &= remainingTiles - 1;
+		}
+		// Return the key
+		return key;
+	}
+}
@@ -1,19 +1,15 @@
 package com.chess.engine.pieces;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
-
 import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
-import com.google.common.collect.ImmutableList;
+import com.chess.engine.board.MoveSink;
 
 public class Pawn extends Piece {
 
-	// Variable to store possible candidate moves for a pawn piece - 8 and 16 are non attacking, 7 and 9 are attacking
-	private final static int[] CANDIDATE_MOVE_COORDINATE = { 8, 7, 9, 16 };
+	// Piece types a pawn can promote to - the queen first so it is the promotion found first between two tiles
+	private static final PieceType[] PROMOTION_PIECE_TYPES = { PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT };
 	
 	
 	
@@ -33,130 +29,124 @@ public class Pawn extends Piece {
 
 	
 	
-	// Override the calculate legal moves method of Piece
+	// Override the generate moves method of Piece
+	@Override
+	public boolean generateMoves(final Board board, final MoveSink sink) {
+		// Pass the forward moves and then the attacking moves to the sink
+		return generateForwardMoves(board, sink, false) && generateAttackMoves(board, sink);
+	}
+	
+	// Override the generate captures method of Piece
 	@Override
-	public Collection<Move> calculateLegalMoves(final Board board) {
-		// Array list to store all possible legal moves that the pawn can make
-		final List<Move> legalMoves = new ArrayList<>();
+	public boolean generateCaptures(final Board board, final MoveSink sink) {
+		// Pass only the forward move that promotes and then the attacking moves to the sink
+		return generateForwardMoves(board, sink, true) && generateAttackMoves(board, sink);
+	}
+	
+	
+	
+	// Method to pass the pawn's moves one and two tiles forward to a sink - only a promotion if asked. Returns false if the
+	// sink stopped the generation early
+	private boolean generateForwardMoves(final Board board, final MoveSink sink, final boolean promotionsOnly) {
+		// Variable to store the coordinate one tile forward - by applying the offset of 8 multiplied by the direction
+		final int candidateDestinationCoordinate = this.piecePosition + (this.pieceAlliance.getDirection() * 8);
 		
-		// Loop through all possible legal moves in the array
-		for (final int currentCandidateOffset : CANDIDATE_MOVE_COORDINATE) {
-			// Variable to store the coordinate of piece after making possible legal move - by applying offset multiplied by the direction
-			final int  candidateDestinationCoordinate = this.piecePosition + (this.pieceAlliance.getDirection() *  currentCandidateOffset);
+		// Check if only a promotion is wanted and the tile isn't a pawn promotion tile
+		if (promotionsOnly && (!BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate) ||
+							   !this.pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate))) {
+			// Return true - there are no moves to pass on
+			return true;
+		}
+		
+		// Check if the tile is a valid coordinate and the destination tile isn't occupied
+		if (BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate) && !board.isTileOccupied(candidateDestinationCoordinate)) {
 			
-			// Check if the tile is a valid coordinate - not out of bounds
-			if (!BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-				// Skip to next tile if move is illegal
-				continue;
+			// Pass the pawn promotions if the destination is a pawn promotion tile, or the pawn move if it isn't
+			if (this.pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate) ?
+					!generatePromotions(new Move.PawnMove(board, this, candidateDestinationCoordinate), sink) :
+					!sink.accept(new Move.PawnMove(board, this, candidateDestinationCoordinate))) {
+				// Return false - the sink has stopped the generation
+				return false;
 			}
 			
-			// Check if it is a normal pawn move and destination tile isn't occupied
-			if (currentCandidateOffset == 8 && !board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
-				
-				// Check if the destination file is a pawn promotion tile
-				if (this.pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)) {
-					// If tile is unoccupied and it is a pawn promotion tile, add the pawn promotion move to the legal moves array list
-					legalMoves.add(new Move.PawnPromotion(new Move.PawnMove(board, this, candidateDestinationCoordinate)));
-				} else {
-					// If the tile is unoccupied and not a pawn promotion tile, add the pawn move to the legal moves array list
-					legalMoves.add(new Move.PawnMove(board, this, candidateDestinationCoordinate));
-				}
-				
-				// Check if it is a double jump pawn move, the pawns first move and it is in the starting row for it's color
-			} else if (currentCandidateOffset == 16 && this.isFirstMove() && 
-					((BoardUtils.SEVENTH_RANK[this.piecePosition] && this.getPieceAlliance().isBlack()) || 
+			// Check if it is the pawns first move and it is in the starting row for it's color
+			if (this.isFirstMove() && ((BoardUtils.SEVENTH_RANK[this.piecePosition] && this.getPieceAlliance().isBlack()) || 
 					(BoardUtils.SECOND_RANK[this.piecePosition] && this.getPieceAlliance().isWhite()))) {
-				// Variable to store the tile between current tile and destination tile
-				final int behindCandidateDestinationCoordinate = this.piecePosition + (this.pieceAlliance.getDirection() * 8); 
-				
-				// Check if both the destination tile and the tile behind it are not occupied
-				if (!board.getTile(behindCandidateDestinationCoordinate).isTileOccupied() && 
-						!board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
-					// Add the non-attacking move to the legal moves array list
-					legalMoves.add(new Move.PawnJump(board, this, candidateDestinationCoordinate));
-				}
-				
-			// Check if it is an attacking diagonal pawn move offset by 7 and doesn't go out of bounds - side pawns
-			} else if (currentCandidateOffset == 7 && 
-					!((BoardUtils.EIGHTH_COLUMN[this.piecePosition] && this.pieceAlliance.isWhite() ||
-					 (BoardUtils.FIRST_COLUMN[this.piecePosition] && this.pieceAlliance.isBlack())))) {
+				// Variable to store the coordinate of the double jump - the tile behind it is already known to be empty
+				final int jumpDestinationCoordinate = this.piecePosition + (this.pieceAlliance.getDirection() * 16);
 				
-				// Check if destination tile is occupied
-				if (board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
-					// Variable to store the value of the piece in the occupied tile
-					final Piece pieceOnCandidate = board.getTile(candidateDestinationCoordinate).getPiece();
-					
-					// Check if the piece in occupied tile is an enemy
-					if (this.pieceAlliance != pieceOnCandidate.getPieceAlliance()) {
-						
-						// Check if the destination file is a pawn promotion tile
-						if (this.pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)) {
-							// Add the pawn promotion attack move to the legal moves array list
-							legalMoves.add(new Move.PawnPromotion(new Move.PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate)));
-						} else {
-							// Add the attacking move to the legal moves array list
-							legalMoves.add(new Move.PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate));
-						}
-					}
-					
-				// Check if there is an en passant pawn on the board
-				} else if (board.getEnPassantPawn() != null) {
-					
-					// Check if the en passant pawn tile is next to the current pawn tile
-					if (board.getEnPassantPawn().getPiecePosition() == (this.piecePosition + (this.pieceAlliance.getOppositeDirection()))) {
-						// Variable to store the pawn on the candidate destination tile
-						final Piece pieceOnCandidate = board.getEnPassantPawn();
-						
-						// Check if the piece alliances of the two pawns are different
-						if (this.pieceAlliance != pieceOnCandidate.getPieceAlliance()) {
-							// Add the pawn en passant attack move to the legal moves collection
-							legalMoves.add(new Move.PawnEnPassantAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate));
-						}
-					}
-				}
-				
-			// Check if it is an attacking diagonal pawn move offset by 9 and doesn't go out of bounds - side pawns	
-			} else if (currentCandidateOffset == 9 &&
-					!((BoardUtils.FIRST_COLUMN[this.piecePosition] && this.pieceAlliance.isWhite() ||
-					 (BoardUtils.EIGHTH_COLUMN[this.piecePosition] && this.pieceAlliance.isBlack())))) {
-				
-				// Check if destination tile is occupied
-				if (board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
-					// Variable to store the value of the piece in the occupied tile
-					final Piece pieceOnCandidate = board.getTile(candidateDestinationCoordinate).getPiece();
-					
-					// Check if the piece in occupied tile is an enemy
-					if (this.pieceAlliance != pieceOnCandidate.getPieceAlliance()) {
-						
-						// Check if the destination file is a pawn promotion tile
-						if (this.pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)) {
-							// Add the pawn promotion attack move to the legal moves array list
-							legalMoves.add(new Move.PawnPromotion(new Move.PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate)));
-						} else {
-							// Add the attacking move to the legal moves array list
-							legalMoves.add(new Move.PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate));	
-						}	
-					}
-				
-				// Check if there is an en passant pawn on the board
-				} else if (board.getEnPassantPawn() != null) {
-					
-					// Check if the en passant pawn tile is next to the current pawn tile
-					if (board.getEnPassantPawn().getPiecePosition() == (this.piecePosition - (this.pieceAlliance.getOppositeDirection()))) {
-						// Variable to store the pawn on the candidate destination tile
-						final Piece pieceOnCandidate = board.getEnPassantPawn();
-						
-						// Check if the piece alliances of the two pawns are different
-						if (this.pieceAlliance != pieceOnCandidate.getPieceAlliance()) {
-							// Add the pawn en passant attack move to the legal moves collection
-							legalMoves.add(new Move.PawnEnPassantAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate));
-						}
-					}
+				// Check if the destination tile is not occupied and pass the jump to the sink
+				if (!board.isTileOccupied(jumpDestinationCoordinate) && !sink.accept(new Move.PawnJump(board, this, jumpDestinationCoordinate))) {
+					// Return false - the sink has stopped the generation
+					return false;
 				}
 			}
 		}
-		// Return an immutable copy of the legal moves array list
-		return ImmutableList.copyOf(legalMoves);
+		// Return true - every move was passed on
+		return true;
+	}
+	
+	
+	
+	// Method to pass the pawn's captures, en passant included, to a sink - returns false if the sink stopped the generation early
+	private boolean generateAttackMoves(final Board board, final MoveSink sink) {
+		// Look up the diagonal tiles the pawn attacks and keep the ones occupied by an enemy piece
+		long attackedTiles = BoardUtils.getPawnAttacks(this.pieceAlliance, this.piecePosition) &
+							 board.getOccupancy() & ~board.getOccupancy(this.pieceAlliance);
+		
+		// Loop through the attacked enemy tiles
+		while (attackedTiles != 0) {
+			// Variable to store the coordinate of the lowest attacked tile
+			final int attackCoordinate = Long.numberOfTrailingZeros(attackedTiles);
+			// Variable to store the value of the piece in the occupied tile
+			final Piece pieceOnCandidate = board.getPiece(attackCoordinate);
+			
+			// Pass the pawn promotion attack moves if the destination is a pawn promotion tile, or the attacking move if it isn't
+			if (this.pieceAlliance.isPawnPromotionSquare(attackCoordinate) ?
+					!generatePromotions(new Move.PawnAttackMove(board, this, attackCoordinate, pieceOnCandidate), sink) :
+					!sink.accept(new Move.PawnAttackMove(board, this, attackCoordinate, pieceOnCandidate))) {
+				// Return false - the sink has stopped the generation
+				return false;
+			}
+			// Clear the lowest attacked tile
+			attackedTiles &= attackedTiles - 1;
+		}
+		
+		// Variable to store the en passant pawn on the board - null if there isn't one
+		final Pawn enPassantPawn = board.getEnPassantPawn();
+		
+		// Check if there is an enemy en passant pawn on the board
+		if (enPassantPawn != null && this.pieceAlliance != enPassantPawn.getPieceAlliance()) {
+			// Variable to store the tile the en passant pawn jumped over - one tile forward from the pawn in this pawn's direction
+			final int enPassantCoordinate = enPassantPawn.getPiecePosition() + (this.pieceAlliance.getDirection() * 8);
+			
+			// Check if the pawn attacks the tile the en passant pawn jumped over
+			if ((BoardUtils.getPawnAttacks(this.pieceAlliance, this.piecePosition) & BoardUtils.getTileBit(enPassantCoordinate)) != 0) {
+				// Pass the pawn en passant attack move to the sink
+				return sink.accept(new Move.PawnEnPassantAttackMove(board, this, enPassantCoordinate, enPassantPawn));
+			}
+		}
+		// Return true - every move was passed on
+		return true;
+	}
+	
+	
+	
+	// Method to pass a promotion to each piece type for a pawn move onto the last rank to a sink - returns false if the sink
+	// stopped the generation early
+	private static boolean generatePromotions(final Move decoratedMove, final MoveSink sink) {
+		
+		// Loop through the piece types the pawn can become
+		for (final PieceType promotionPieceType : PROMOTION_PIECE_TYPES) {
+			
+			// Pass the promotion to the sink
+			if (!sink.accept(new Move.PawnPromotion(decoratedMove, promotionPieceType))) {
+				// Return false - the sink has stopped the generation
+				return false;
+			}
+		}
+		// Return true - every promotion was passed on
+		return true;
 	}
 	
 	
@@ -164,8 +154,8 @@ public class Pawn extends Piece {
 	// Override the move piece method for a pawn
 	@Override
 	public Pawn movePiece(final Move move) {
-		// Return a new pawn at the destination coordinate
-		return new Pawn(move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate());
+		// Return the shared pawn at the destination coordinate - it is no longer on its first move
+		return PieceUtils.getPawn(move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate(), false);
 	}
 	
 	
@@ -181,7 +171,13 @@ public class Pawn extends Piece {
 	
 	// Getter method for the new promotion piece
 	public Piece getPromotionPiece() {
-		// Return a new queen to replace the promoted pawn
-		return new Queen(this.pieceAlliance, this.piecePosition, false);
+		// Return the shared queen to replace the promoted pawn
+		return getPromotionPiece(PieceType.QUEEN);
+	}
+	
+	// Getter method for the new promotion piece of a type
+	public Piece getPromotionPiece(final PieceType promotionPieceType) {
+		// Return the shared piece of the type to replace the promoted pawn
+		return PieceUtils.getPiece(this.pieceAlliance, promotionPieceType, this.piecePosition, false);
 	}
 }
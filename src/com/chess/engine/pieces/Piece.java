@@ -1,10 +1,14 @@
 package com.chess.engine.pieces;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveSink;
+import com.google.common.collect.ImmutableList;
 
 
 
@@ -118,8 +122,61 @@ public abstract class Piece {
 	
 	
 	
-	// Method to create a collection of possible legal moves - defined in sub classes
-	public abstract Collection<Move> calculateLegalMoves (final Board board);
+	// Method to pass each of the piece's moves to a sink as it is made - defined in sub classes. Returns false if the sink
+	// stopped the generation early
+	public abstract boolean generateMoves(final Board board, final MoveSink sink);
+	
+	// Method to pass only the piece's captures and pawn promotions to a sink - defined in sub classes. Returns false if the
+	// sink stopped the generation early
+	public abstract boolean generateCaptures(final Board board, final MoveSink sink);
+	
+	
+	
+	// Method to create a collection of possible legal moves
+	public Collection<Move> calculateLegalMoves(final Board board) {
+		// Array list to store the moves
+		final List<Move> legalMoves = new ArrayList<>();
+		
+		// Generate the moves straight into the array list
+		generateMoves(board, new MoveSink() {
+			
+			// Override the accept method to keep every move
+			@Override
+			public boolean accept(final Move move) {
+				// Add the move and keep going
+				return legalMoves.add(move);
+			}
+		});
+		// Return an immutable copy of the legal moves array list
+		return ImmutableList.copyOf(legalMoves);
+	}
+	
+	
+	
+	// Method to pass a major move or major attack move to each tile in a bitboard of attacked tiles to a sink
+	protected boolean generateMovesToTiles(final Board board, final long attackedTiles, final MoveSink sink) {
+		// Remove the tiles occupied by this piece's own color - they can't be moved to
+		long destinationTiles = attackedTiles & ~board.getOccupancy(this.pieceAlliance);
+		
+		// Loop through the destination tiles
+		while (destinationTiles != 0) {
+			// Variable to store the coordinate of the lowest destination tile
+			final int candidateDestinationCoordinate = Long.numberOfTrailingZeros(destinationTiles);
+			// Variable to store the piece on the destination tile - null if empty
+			final Piece pieceAtDestination = board.getPiece(candidateDestinationCoordinate);
+			
+			// Pass the non-attacking move if the tile is empty, or the attack move on the enemy piece if it isn't
+			if (!sink.accept(pieceAtDestination == null ? new Move.MajorMove(board, this, candidateDestinationCoordinate) :
+							 new Move.MajorAttackMove(board, this, candidateDestinationCoordinate, pieceAtDestination))) {
+				// Return false - the sink has stopped the generation
+				return false;
+			}
+			// Clear the lowest destination tile
+			destinationTiles &= destinationTiles - 1;
+		}
+		// Return true - every move was passed on
+		return true;
+	}
 	
 	
 	// Method to move a piece to a new tile - defined in sub classes
@@ -0,0 +1,111 @@
+package com.chess.engine.pieces;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.pieces.Piece.PieceType;
+
+
+
+public final class PieceUtils {
+
+	// Every piece that can be on a board - indexed by piece bitboard, tile and whether it is on its first move. A piece
+	// never changes once made, so moves hand out these shared instances instead of creating new ones
+	private static final Piece[][][] ALL_PIECES = initAllPieces();
+
+
+
+	// Constructor
+	private PieceUtils() {
+		// Throw runtime exception in case someone tries to instantiate it
+		throw new RuntimeException("You cannot instantiate me!");
+	}
+
+
+
+	// Method to return the shared instance of a piece
+	public static Piece getPiece(final Alliance alliance, final PieceType pieceType, final int coordinate, final boolean isFirstMove) {
+		// Look up the piece in the table
+		return ALL_PIECES[BoardUtils.getBitboardIndex(alliance, pieceType)][coordinate][isFirstMove ? 1 : 0];
+	}
+
+	// Method to return the shared instance of a pawn
+	public static Pawn getPawn(final Alliance alliance, final int coordinate, final boolean isFirstMove) {
+		// Look up the pawn and cast it to its type
+		return (Pawn) getPiece(alliance, PieceType.PAWN, coordinate, isFirstMove);
+	}
+
+	// Method to return the shared instance of a knight
+	public static Knight getKnight(final Alliance alliance, final int coordinate, final boolean isFirstMove) {
+		// Look up the knight and cast it to its type
+		return (Knight) getPiece(alliance, PieceType.KNIGHT, coordinate, isFirstMove);
+	}
+
+	// Method to return the shared instance of a bishop
+	public static Bishop getBishop(final Alliance alliance, final int coordinate, final boolean isFirstMove) {
+		// Look up the bishop and cast it to its type
+		return (Bishop) getPiece(alliance, PieceType.BISHOP, coordinate, isFirstMove);
+	}
+
+	// Method to return the shared instance of a rook
+	public static Rook getRook(final Alliance alliance, final int coordinate, final boolean isFirstMove) {
+		// Look up the rook and cast it to its type
+		return (Rook) getPiece(alliance, PieceType.ROOK, coordinate, isFirstMove);
+	}
+
+	// Method to return the shared instance of a queen
+	public static Queen getQueen(final Alliance alliance, final int coordinate, final boolean isFirstMove) {
+		// Look up the queen and cast it to its type
+		return (Queen) getPiece(alliance, PieceType.QUEEN, coordinate, isFirstMove);
+	}
+
+	// Method to return the shared instance of a king
+	public static King getKing(final Alliance alliance, final int coordinate, final boolean isFirstMove) {
+		// Look up the king and cast it to its type
+		return (King) getPiece(alliance, PieceType.KING, coordinate, isFirstMove);
+	}
+
+
+
+	// Method to create every piece once - 2 colors, 6 types, 64 tiles and 2 first move values
+	private static Piece[][][] initAllPieces() {
+		// Array to store the pieces
+		final Piece[][][] allPieces = new Piece[BoardUtils.NUM_PIECE_BITBOARDS][BoardUtils.NUM_TILES][2];
+
+		// Loop through each color and piece type
+		for (final Alliance alliance : Alliance.values()) {
+			for (final PieceType pieceType : PieceType.values()) {
+
+				// Loop through every tile
+				for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+					// Create the piece off and on its first move
+					allPieces[BoardUtils.getBitboardIndex(alliance, pieceType)][i][0] = createPiece(alliance, pieceType, i, false);
+					allPieces[BoardUtils.getBitboardIndex(alliance, pieceType)][i][1] = createPiece(alliance, pieceType, i, true);
+				}
+			}
+		}
+		// Return the array of pieces
+		return allPieces;
+	}
+
+
+
+	// Method to create a new piece of a type
+	private static Piece createPiece(final Alliance alliance, final PieceType pieceType, final int coordinate, final boolean isFirstMove) {
+
+		// Create the piece for its type
+		switch (pieceType) {
+			case PAWN:
+				return new Pawn(alliance, coordinate, isFirstMove);
+			case KNIGHT:
+				return new Knight(alliance, coordinate, isFirstMove);
+			case BISHOP:
+				return new Bishop(alliance, coordinate, isFirstMove);
+			case ROOK:
+				return new Rook(alliance, coordinate, isFirstMove);
+			case QUEEN:
+				return new Queen(alliance, coordinate, isFirstMove);
+			default:
+				return new King(alliance, coordinate, isFirstMove);
+		}
+	}
+}
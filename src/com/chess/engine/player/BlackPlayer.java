@@ -7,7 +7,7 @@ import java.util.List;
 import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
-import com.chess.engine.board.Tile;
+import com.chess.engine.board.BoardUtils;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.pieces.Rook;
 import com.google.common.collect.ImmutableList;
@@ -17,9 +17,9 @@ import com.google.common.collect.ImmutableList;
 public class BlackPlayer extends Player{
 
 	// Constructor
-	public BlackPlayer(final Board board, final Collection<Move> whiteStandardLegalMoves, final Collection<Move> blackStandardLegalMoves ) {
-		// Call the player super constructor
-		super(board, blackStandardLegalMoves, whiteStandardLegalMoves);
+	public BlackPlayer(final Board board) {
+		// Call the player super constructor - the legal moves are worked out when they are first asked for
+		super(board);
 	}
 
 	
@@ -53,50 +53,39 @@ public class BlackPlayer extends Player{
 
 	// Override the calculate king castles method for the black player
 	@Override
-	protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegals, final Collection<Move> opponentsLegals) {
+	protected Collection<Move> calculateKingCastles() {
 		// Initialize an array list to store king castling moves
 		final List<Move> kingCastles = new ArrayList<>(); 
+		// Variable to store the castling rights of the board
+		final int castlingRights = this.board.getCastlingRights();
+		
+		// Check if black can still castle either way and that the king isn't in check
+		if ((castlingRights & (BoardUtils.BLACK_KING_SIDE_CASTLE | BoardUtils.BLACK_QUEEN_SIDE_CASTLE)) != 0 && !this.isInCheck()) {
+			
+			// Check if black still has the king side right and the two tiles between the king and rook are empty - black's king side castling
+			if ((castlingRights & BoardUtils.BLACK_KING_SIDE_CASTLE) != 0 && !this.board.isTileOccupied(5) && !this.board.isTileOccupied(6)) {
 				
-		// Check if it is the king's first move and that it isn't in check
-		if (this.playerKing.isFirstMove() && !this.isInCheck()) {
-					
-			// Check if the two tiles between the king and rook are empty - black's king side castling
-			if (!this.board.getTile(5).isTileOccupied() && !this.board.getTile(6).isTileOccupied()) {
-				// Variable to store the tile containing the rook
-				final Tile rookTile = this.board.getTile(7);
-						
-				// Check if the rook tile is occupied and that it is the rook's first move
-				if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
-							
-					// Check that there are no attacks on the tiles between king and rook and rook tile piece is a rook
-					if (Player.calculateAttacksOnTile(5, opponentsLegals).isEmpty() &&
-						Player.calculateAttacksOnTile(6, opponentsLegals).isEmpty() && rookTile.getPiece().getPieceType().isRook()) {
-							// Add the move to the king castles array list
-							kingCastles.add(new Move.KingSideCastleMove(this.board, this.playerKing, 6,
-																		(Rook)rookTile.getPiece(), rookTile.getTileCoordinate(), 5));
-					}
+				// Check that there are no attacks on the tiles between king and rook
+				if (!this.board.isSquareAttacked(5, Alliance.WHITE) && !this.board.isSquareAttacked(6, Alliance.WHITE)) {
+					// Add the move to the king castles array list - the right means the rook is still on its home tile
+					kingCastles.add(new Move.KingSideCastleMove(this.board, this.playerKing, 6,
+																(Rook) this.board.getPiece(7), 7, 5));
 				}
 			}
-					
-			// Check if the three tiles between the king and rook are empty - black's queen side castling
-			if (!this.board.getTile(1).isTileOccupied() && !this.board.getTile(2).isTileOccupied() && !this.board.getTile(3).isTileOccupied()) {
-				// Variable to store the tile containing the rook
-				final Tile rookTile = this.board.getTile(0);
-						
-				// Check if the rook tile is occupied and that it is the rook's first move
-				if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
-					
-					// Check that there are no attacks on the tiles between king and rook and rook tile piece is a rook
-					if (Player.calculateAttacksOnTile(2, opponentsLegals).isEmpty() &&
-						Player.calculateAttacksOnTile(3, opponentsLegals).isEmpty() && rookTile.getPiece().getPieceType().isRook()) {
-							// Add the move to the king castles array list
-							kingCastles.add(new Move.QueenSideCastleMove(this.board, this.playerKing, 2,
-																		(Rook)rookTile.getPiece(), rookTile.getTileCoordinate(), 3));
-					}
+			
+			// Check if black still has the queen side right and the three tiles between the king and rook are empty - black's queen side castling
+			if ((castlingRights & BoardUtils.BLACK_QUEEN_SIDE_CASTLE) != 0 && !this.board.isTileOccupied(3) &&
+				!this.board.isTileOccupied(2) && !this.board.isTileOccupied(1)) {
+				
+				// Check that there are no attacks on the tiles the king passes through
+				if (!this.board.isSquareAttacked(2, Alliance.WHITE) && !this.board.isSquareAttacked(3, Alliance.WHITE)) {
+					// Add the move to the king castles array list - the right means the rook is still on its home tile
+					kingCastles.add(new Move.QueenSideCastleMove(this.board, this.playerKing, 2,
+																 (Rook) this.board.getPiece(0), 0, 3));
 				}
 			}
 		}
-		// Return an immutable list of the king side castles array list
+		// Return an immutable list of the king castles array list
 		return ImmutableList.copyOf(kingCastles);
 	}
 
@@ -1,14 +1,15 @@
 package com.chess.engine.player;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 
 import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveSink;
 import com.chess.engine.pieces.King;
 import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 
@@ -18,23 +19,22 @@ public abstract class Player {
 	protected final Board board;
 	// Variable to keep track of the player's king
 	protected final King playerKing;
-	// A collection of all the possible legal moves a player can make
-	protected final Collection<Move> legalMoves;
+	// A collection of all the possible legal moves a player can make - worked out the first time it is asked for
+	private Collection<Move> legalMoves;
 	
-	// Boolean to store whether or not the king is in check
-	private final boolean isInCheck;
+	// Legal moves grouped by the tile they start from - built the first time a move is looked up by its tiles
+	private Move[][] legalMovesByTile;
+	
+	// Boolean to store whether or not the king is in check - null until it is first asked for
+	private Boolean isInCheck;
 	
 	
 	// Constructor
-	Player(final Board board, final Collection<Move> legalMoves, final Collection<Move> opponentMoves) {
+	Player(final Board board) {
 		// Assign the value of the board
 		this.board = board;
 		// Use the establish king method to set value of the player's king
 		this.playerKing = establishKing();
-		// Assign the value of the legal moves as an immutable list of a concatenation of legal moves and king castle moves
-		this.legalMoves = ImmutableList.copyOf(Iterables.concat(legalMoves, calculateKingCastles(legalMoves, opponentMoves)));
-		// Use the calculate attacks on tile method to check if the king is in check or not
-		this.isInCheck = !Player.calculateAttacksOnTile(this.playerKing.getPiecePosition(), opponentMoves).isEmpty();
 	}
 	
 	
@@ -47,59 +47,168 @@ public abstract class Player {
 	
 	// Getter method for the legal moves collection
 	public Collection<Move> getLegalMoves() {
+		
+		// Check if the legal moves haven't been worked out yet
+		if (this.legalMoves == null) {
+			// Assign the value of the legal moves as an immutable list of a concatenation of legal moves and king castle moves
+			this.legalMoves = ImmutableList.copyOf(Iterables.concat(this.board.getStandardLegalMoves(getAlliance()), calculateKingCastles()));
+		}
 		// Return the legal moves collection
 		return this.legalMoves;
 	}
-
-
-
-	// Method to calculate potential attacks on a tile
-	protected static Collection<Move> calculateAttacksOnTile(int piecePosition, Collection<Move> moves) {
-		// An array list to store the attacking moves on the tile
-		final List<Move> attackMoves = new ArrayList<>();
+	
+	// Getter method for the player's legal castles - worked out again each time they are asked for
+	public Collection<Move> getKingCastles() {
+		// Return the king castles
+		return calculateKingCastles();
+	}
+	
+		// Method to pass the player's legal moves, castles included, to a sink as they are made - returns false if the sink
+	// stopped the generation early
+	public boolean generateLegalMoves(final MoveSink sink) {
+		
+		// Check if the legal moves have already been worked out
+		if (this.legalMoves != null) {
+			
+			// Loop through the legal moves
+			for (final Move move : this.legalMoves) {
+				
+				// Pass the move to the sink
+				if (!sink.accept(move)) {
+					// Return false - the sink has stopped the generation
+					return false;
+				}
+			}
+			// Return true - every move was passed on
+			return true;
+		}
 		
-		// Loop through all the moves in the collection of moves
-		for (Move move : moves) {
-			// Check if the position of the piece is equal to the destination coordinate of a move
-			if (piecePosition == move.getDestinationCoordinate()) {
-				// Add the move to the attack moves array list
-				attackMoves.add(move);
+		// Pass the board's legal moves for the player's color to the sink
+		if (!this.board.generateLegalMoves(getAlliance(), sink)) {
+			// Return false - the sink has stopped the generation
+			return false;
+		}
+		
+		// Loop through the king castles - only worked out once every other move has been passed on
+		for (final Move move : calculateKingCastles()) {
+			
+			// Pass the castle to the sink
+			if (!sink.accept(move)) {
+				// Return false - the sink has stopped the generation
+				return false;
 			}
 		}
-		// Return an immutable copy of the attack moves array list
-		return ImmutableList.copyOf(attackMoves);
+		// Return true - every move was passed on
+		return true;
 	}
 
 
 
 	// Method to set the value of a player's king
 	private King establishKing() {
+		// Variable to store the bitboard of the player's king
+		final long kingBitboard = this.board.getPieceBitboard(getAlliance(), PieceType.KING);
 		
-		// Loop through all the pieces in the active pieces collection
-		for (final Piece piece : getActivePieces()) {
-			
-			// Check if the piece is a king
-			if (piece.getPieceType().isKing()) {
-				// Return the piece cast as a king
-				return (King) piece;
-			}
+		// Check that there is exactly one king on the board
+		if (Long.bitCount(kingBitboard) != 1) {
+			// Throw a runtime exception error - no king found on the board
+			throw new RuntimeException("Should not reach here! Not a valid board!!");
 		}
-		// Throw a runtime exception error - no king found on the board
-		throw new RuntimeException("Should not reach here! Not a valid board!!");
+		// Return the piece on the king's tile cast as a king
+		return (King) this.board.getPiece(Long.numberOfTrailingZeros(kingBitboard));
 	}
 	
 	
 	
 	// Method to check if a move is legal
 	public boolean isMoveLegal(final Move move) {
-		// Return true if the move is in the legal moves list
-		return this.legalMoves.contains(move);
+		// Variable to store the legal move between the same two tiles - to the same piece if it is a promotion
+		final Move legalMove = getLegalMove(move.getCurrentCoordinate(), move.getDestinationCoordinate(),
+											move.isPawnPromotion() ? ((Move.PawnPromotion) move).getPromotionPieceType() : null);
+		// Return true if there is one and it is the same move
+		return legalMove != Move.NULL_MOVE && (legalMove == move || legalMove.equals(move));
+	}
+	
+	
+	
+	// Method to find the legal move between two tiles - returns the null move if there isn't one. A promotion between the tiles
+	// is the queen promotion, as it is generated first
+	public Move getLegalMove(final int currentCoordinate, final int destinationCoordinate) {
+		// Return the first legal move between the tiles
+		return getLegalMove(currentCoordinate, destinationCoordinate, null);
+	}
+	
+	
+	
+	// Method to find the legal move between two tiles that promotes to a piece type - any move between them if the type is null.
+	// Returns the null move if there isn't one
+	public Move getLegalMove(final int currentCoordinate, final int destinationCoordinate, final PieceType promotionPieceType) {
+		
+		// Check if the source tile is off the board
+		if (!BoardUtils.isValidTileCoordinate(currentCoordinate)) {
+			// Return the null move
+			return Move.NULL_MOVE;
+		}
+		
+		// Check if the legal moves haven't been grouped by tile yet
+		if (this.legalMovesByTile == null) {
+			// Group the legal moves by tile
+			this.legalMovesByTile = createLegalMovesByTile(getLegalMoves());
+		}
+		
+		// Loop through the few legal moves that start on the source tile
+		for (final Move move : this.legalMovesByTile[currentCoordinate]) {
+			
+			// Check if the move ends on the destination tile - only promotions to different pieces share both tiles
+			if (move.getDestinationCoordinate() == destinationCoordinate && (promotionPieceType == null || !move.isPawnPromotion() ||
+					((Move.PawnPromotion) move).getPromotionPieceType() == promotionPieceType)) {
+				// Return the move
+				return move;
+			}
+		}
+		// Return the null move if a match isn't found
+		return Move.NULL_MOVE;
+	}
+	
+	
+	
+	// Method to group a collection of moves into an array for each tile the moves start from
+	private static Move[][] createLegalMovesByTile(final Collection<Move> moves) {
+		// Array to store the number of moves starting on each tile
+		final int[] numMoves = new int[BoardUtils.NUM_TILES];
+		
+		// Loop through the moves to count them
+		for (final Move move : moves) {
+			numMoves[move.getCurrentCoordinate()]++;
+		}
+		// Array to store the moves for each tile - sized to fit exactly
+		final Move[][] movesByTile = new Move[BoardUtils.NUM_TILES][];
+		
+		// Loop through all the tiles
+		for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+			// Create the array for the tile and reset its count so it can be used to fill the array
+			movesByTile[i] = new Move[numMoves[i]];
+			numMoves[i] = 0;
+		}
+		
+		// Loop through the moves again to place them
+		for (final Move move : moves) {
+			movesByTile[move.getCurrentCoordinate()][numMoves[move.getCurrentCoordinate()]++] = move;
+		}
+		// Return the moves grouped by tile
+		return movesByTile;
 	}
 	
 	
 	
 	// Method to see if king is in check
 	public boolean isInCheck() {
+		
+		// Check if it hasn't been worked out yet whether the king is in check
+		if (this.isInCheck == null) {
+			// Check if any opponent piece attacks the king's tile
+			this.isInCheck = this.board.isSquareAttacked(this.playerKing.getPiecePosition(), getOpponent().getAlliance());
+		}
 		// Return boolean to represent whether or not the king is in check
 		return this.isInCheck;
 	}
@@ -109,7 +218,7 @@ public abstract class Player {
 	// Method to see if king is in check mate
 	public boolean isInCheckMate() {
 		// Return true if the king is in check and has no escape moves
-		return this.isInCheck && !hasEscapeMoves();
+		return isInCheck() && !hasEscapeMoves();
 	}
 	
 	
@@ -117,26 +226,15 @@ public abstract class Player {
 	// Method to check if a game is in stale mate
 	public boolean isInStaleMate() {
 		// Return true if the king is NOT in check and has no escape moves
-		return !this.isInCheck && !hasEscapeMoves();
+		return !isInCheck() && !hasEscapeMoves();
 	}
 	
 	
 	
 	// Method to check whether a king has any escape moves
 	protected boolean hasEscapeMoves() {
-		// Loop through all the moves in the legal moves collection
-		for (final Move move : this.legalMoves) {
-			// Use the make move method to create a move transition
-			final MoveTransition transition = makeMove(move);
-			
-			// Check if the move can be complete
-			if (transition.getMoveStatus().isDone()) {
-				// Return true - king has escape moves
-				return true;
-			}
-		}
-		// Return false - king has no escape moves
-		return false;
+		// Return true if there is any legal move - the board stops at the first one unless the moves are already known
+		return this.legalMoves != null ? !this.legalMoves.isEmpty() : this.board.hasLegalMoves(getAlliance());
 	}
 
 	
@@ -157,19 +255,8 @@ public abstract class Player {
 			return new MoveTransition(this.board, move, MoveStatus.ILLEGAL_MOVE);
 		}
 		
-		// Create a new transition board after executing the move
-		final Board transitionBoard = move.execute();
-		// Create a collection of possible attacks on the king after making the move - note that current player will switch after move is made
-		final Collection<Move> kingAttacks = Player.calculateAttacksOnTile(transitionBoard.currentPlayer().getOpponent().getPlayerKing().getPiecePosition(),
-				transitionBoard.currentPlayer().getLegalMoves());
-		
-		// Check if there are attacks on the king
-		if (!kingAttacks.isEmpty()) {
-			// Return the same game board with the leaves player in check status
-			return new MoveTransition(this.board, move, MoveStatus.LEAVES_PLAYER_IN_CHECK);
-		}
-		// Return the new board with the done status if move can be completed
-		return new MoveTransition(transitionBoard, move, MoveStatus.DONE);
+		// Return the new board with the done status - legal moves never leave the king attacked so no check is needed afterwards
+		return new MoveTransition(move.execute(), move, MoveStatus.DONE);
 	}
 	
 	
@@ -184,5 +271,5 @@ public abstract class Player {
 	public abstract Player getOpponent();
 	
 	// Method to calculate castling moves
-	protected abstract Collection<Move> calculateKingCastles(Collection<Move> playerLegals, Collection<Move> opponentsLegals);
+	protected abstract Collection<Move> calculateKingCastles();
 }
@@ -7,7 +7,7 @@ import java.util.List;
 import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
-import com.chess.engine.board.Tile;
+import com.chess.engine.board.BoardUtils;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.pieces.Rook;
 import com.google.common.collect.ImmutableList;
@@ -17,9 +17,9 @@ import com.google.common.collect.ImmutableList;
 public class WhitePlayer extends Player {
 	
 	// Constructor
-	public WhitePlayer(final Board board, final Collection<Move> whiteStandardLegalMoves, final Collection<Move> blackStandardLegalMoves) {
-		// Call the player super constructor
-		super(board, whiteStandardLegalMoves, blackStandardLegalMoves);
+	public WhitePlayer(final Board board) {
+		// Call the player super constructor - the legal moves are worked out when they are first asked for
+		super(board);
 	}
 
 	
@@ -53,50 +53,39 @@ public class WhitePlayer extends Player {
 
 	// Override the calculate king castles method for the white player
 	@Override
-	protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegals, final Collection<Move> opponentsLegals) {
+	protected Collection<Move> calculateKingCastles() {
 		// Initialize an array list to store king castling moves
 		final List<Move> kingCastles = new ArrayList<>(); 
+		// Variable to store the castling rights of the board
+		final int castlingRights = this.board.getCastlingRights();
 		
-		// Check if it is the king's first move and that it isn't in check
-		if (this.playerKing.isFirstMove() && !this.isInCheck()) {
+		// Check if white can still castle either way and that the king isn't in check
+		if ((castlingRights & (BoardUtils.WHITE_KING_SIDE_CASTLE | BoardUtils.WHITE_QUEEN_SIDE_CASTLE)) != 0 && !this.isInCheck()) {
 			
-			// Check if the two tiles between the king and rook are empty - white's king side castling
-			if (!this.board.getTile(61).isTileOccupied() && !this.board.getTile(62).isTileOccupied()) {
-				// Variable to store the destination tile for the rook
-				final Tile rookTile = this.board.getTile(63);
+			// Check if white still has the king side right and the two tiles between the king and rook are empty - white's king side castling
+			if ((castlingRights & BoardUtils.WHITE_KING_SIDE_CASTLE) != 0 && !this.board.isTileOccupied(61) && !this.board.isTileOccupied(62)) {
 				
-				// Check if the destination rook tile is occupied and that it is the rook's first move
-				if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
-					
-					// Check that there are no attacks on the tiles between king and rook and rook tile piece is a rook
-					if (Player.calculateAttacksOnTile(61, opponentsLegals).isEmpty() &&
-						Player.calculateAttacksOnTile(62, opponentsLegals).isEmpty() && rookTile.getPiece().getPieceType().isRook()) {
-							// Add the move to the king castles array list
-							kingCastles.add(new Move.KingSideCastleMove(this.board, this.playerKing, 62,
-																		(Rook)rookTile.getPiece(), rookTile.getTileCoordinate(), 61));
-					}
+				// Check that there are no attacks on the tiles between king and rook
+				if (!this.board.isSquareAttacked(61, Alliance.BLACK) && !this.board.isSquareAttacked(62, Alliance.BLACK)) {
+					// Add the move to the king castles array list - the right means the rook is still on its home tile
+					kingCastles.add(new Move.KingSideCastleMove(this.board, this.playerKing, 62,
+																(Rook) this.board.getPiece(63), 63, 61));
 				}
 			}
 			
-			// Check if the three tiles between the king and rook are empty - white's queen side castling
-			if (!this.board.getTile(59).isTileOccupied() && !this.board.getTile(58).isTileOccupied() && !this.board.getTile(57).isTileOccupied()) {
-				// Variable to store the tile containing the rook
-				final Tile rookTile = this.board.getTile(56);
+			// Check if white still has the queen side right and the three tiles between the king and rook are empty - white's queen side castling
+			if ((castlingRights & BoardUtils.WHITE_QUEEN_SIDE_CASTLE) != 0 && !this.board.isTileOccupied(59) &&
+				!this.board.isTileOccupied(58) && !this.board.isTileOccupied(57)) {
 				
-				// Check if the rook tile is occupied and that it is the rook's first move
-				if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
-					
-					// Check that there are no attacks on the tiles between king and rook and rook tile piece is a rook
-					if (Player.calculateAttacksOnTile(58, opponentsLegals).isEmpty() &&
-						Player.calculateAttacksOnTile(59, opponentsLegals).isEmpty() && rookTile.getPiece().getPieceType().isRook()) {
-							// Add the move to the king castles array list
-							kingCastles.add(new Move.QueenSideCastleMove(this.board, this.playerKing, 58,
-																		(Rook)rookTile.getPiece(), rookTile.getTileCoordinate(), 59));
-					}
+				// Check that there are no attacks on the tiles the king passes through
+				if (!this.board.isSquareAttacked(58, Alliance.BLACK) && !this.board.isSquareAttacked(59, Alliance.BLACK)) {
+					// Add the move to the king castles array list - the right means the rook is still on its home tile
+					kingCastles.add(new Move.QueenSideCastleMove(this.board, this.playerKing, 58,
+																 (Rook) this.board.getPiece(56), 56, 59));
 				}
 			}
 		}
-		// Return an immutable list of the king side castles array list
+		// Return an immutable list of the king castles array list
 		return ImmutableList.copyOf(kingCastles);
 	}
 
@@ -0,0 +1,624 @@
+package com.chess.engine.player.ai;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveUtils;
+import com.chess.engine.board.SearchBoard;
+import com.google.common.collect.ImmutableList;
+
+
+
+public class AlphaBeta implements MoveStrategy {
+
+	// Number of killer moves kept for each ply
+	private static final int NUM_KILLER_MOVES = 2;
+	// Number of plies the killer move table covers - deeper than any search the engine runs
+	private static final int MAX_PLY = 64;
+	// Number of boards searched between looks at the clock - reading it at every board would cost more than the search
+	private static final int CLOCK_CHECK_INTERVAL = 64;
+	// Most the rest of the evaluation can move by on a capture - a capture past the search depth that can't reach the window
+	// even with the piece taken and this much more isn't searched
+	private static final int DELTA_MARGIN = 200;
+
+	// Declare in instance of board evaluator
+	private final BoardEvaluator boardEvaluator;
+	// Variable to store the search depth
+	private final int searchDepth;
+	// Array to store the encoded quiet moves that last caused a cutoff at each ply - tried early in the other positions at that ply
+	private final int[][] killerMoves;
+	// Array to store a move generator for each ply - reset for every board at that ply rather than made again
+	private final StagedMoveGenerator[] moveGenerators;
+	// Declare an instance of transposition table - the results of boards already searched, whichever moves reached them. Null
+	// if the search doesn't use one
+	private final TranspositionTable transpositionTable;
+	// Variable to store if the captures and promotions are played out past the search depth before a board is evaluated
+	private final boolean quiescence;
+	// Variable to store the number of boards searched by the last search
+	private long nodesSearched;
+	
+	// Variables to store when the current search started, how long it may run and how many boards it may search - both
+	// without limit unless a search is run with a budget
+	private long startTime;
+	private long timeLimit;
+	private long nodeLimit;
+	// Variable to store whether the current search ran out of budget - every board then returns straight away
+	private boolean stopped;
+
+
+
+	// Constructor
+	public AlphaBeta(final int searchDepth) {
+		// Call the main constructor with the standard board evaluator
+		this(new StandardBoardEvaluator(), searchDepth);
+	}
+
+
+
+	// Constructor that can set the board evaluator
+	public AlphaBeta(final BoardEvaluator boardEvaluator, final int searchDepth) {
+		// Call the main constructor without a transposition table
+		this(boardEvaluator, searchDepth, null);
+	}
+
+
+
+	// Constructor that can set the board evaluator and the transposition table - null for none. Boards are evaluated as soon
+	// as the search depth is reached, so the move picked is the same as mini-max's
+	public AlphaBeta(final BoardEvaluator boardEvaluator, final int searchDepth, final TranspositionTable transpositionTable) {
+		// Call the main constructor without the quiescence search
+		this(boardEvaluator, searchDepth, transpositionTable, false);
+	}
+
+
+
+	// Constructor that can also set if the captures and promotions are played out past the search depth - the quiescence
+	// search stops a board being scored in the middle of an exchange, so a shallower search is as reliable
+	public AlphaBeta(final BoardEvaluator boardEvaluator, final int searchDepth, final TranspositionTable transpositionTable,
+					 final boolean quiescence) {
+		// Assign the value of the board evaluator
+		this.boardEvaluator = boardEvaluator;
+		// Assign the value of search depth
+		this.searchDepth = searchDepth;
+		// Declare the killer moves - one row for each ply below the root
+		this.killerMoves = new int[MAX_PLY][NUM_KILLER_MOVES];
+		// Declare the move generators - one for each ply below the root
+		this.moveGenerators = new StagedMoveGenerator[MAX_PLY];
+
+		// Loop through the plies
+		for (int i = 0; i < MAX_PLY; i++) {
+			// Initialize the ply's move generator
+			this.moveGenerators[i] = new StagedMoveGenerator();
+		}
+		// Assign the value of the transposition table and quiescence
+		this.transpositionTable = transpositionTable;
+		this.quiescence = quiescence;
+	}
+
+
+
+	// Override the to string method for alpha-beta
+	@Override
+	public String toString() {
+		// Return a string of alpha-beta
+		return "AlphaBeta";
+	}
+
+
+
+	// Getter method for the number of boards searched by the last search
+	public long getNodesSearched() {
+		// Return the number of boards searched
+		return this.nodesSearched;
+	}
+
+
+
+	// Override the execute method from move strategy - picks the same move as mini-max at the same depth with the same
+	// board evaluator, while cutting off the branches that can't change it
+	@Override
+	public Move execute(final Board board) {
+
+		// Variable to store the current time in milliseconds
+		final long startTime = System.currentTimeMillis();
+		// Forget the killer moves of the last search
+		clearKillerMoves();
+
+		// Check if the search uses a transposition table
+		if (this.transpositionTable != null) {
+			// Empty the table - a board the last search reached with more depth left would give a deeper value than mini-max's
+			this.transpositionTable.clear();
+		}
+
+		// Print message to the console
+		System.out.println(board.currentPlayer() + " THINKING with depth = " + this.searchDepth);
+		// Search the board without any limits
+		final Move bestMove = search(board, this.searchDepth, Long.MAX_VALUE, Long.MAX_VALUE, null);
+		// Variable to store the time it takes to execute
+		final long executionTime = System.currentTimeMillis() - startTime;
+		// Print the number of boards searched and the time taken
+		System.out.println(board.currentPlayer() + " SEARCHED " + this.nodesSearched + " boards in " + executionTime + " ms");
+		// Return the best move
+		return bestMove;
+	}
+
+
+
+	// Getter method for whether the last search ran out of budget before every move was searched
+	boolean isStopped() {
+		// Return true if the search stopped
+		return this.stopped;
+	}
+
+
+
+	// Method to search a board to a depth within a budget of time in milliseconds and boards - if the budget runs out, the
+	// best of the moves searched in full is returned, or null if there aren't any. The first move given, if any, is searched
+	// before the others, but ties still go to the move mini-max would pick. The killer moves are kept from the search before,
+	// so a deeper search of the same board tries the previous cutoffs first. Below the root the moves are made and unmade on
+	// one search board, so no board is built for a position
+	Move search(final Board board, final int depth, final long timeLimitMillis, final long nodeLimit, final Move firstMove) {
+		// Reset the node count and set the budget
+		this.nodesSearched = 0;
+		this.startTime = System.nanoTime();
+		this.timeLimit = timeLimitMillis < Long.MAX_VALUE / 1000000 ? timeLimitMillis * 1000000 : Long.MAX_VALUE;
+		this.nodeLimit = nodeLimit;
+		this.stopped = false;
+		// List to store the current player's legal moves - in the same order as mini-max so ties go the same way
+		final List<Move> legalMoves = ImmutableList.copyOf(board.currentPlayer().getLegalMoves());
+		// Initialize a search board of the board to make the moves on
+		final SearchBoard searchBoard = new SearchBoard(board);
+		// Variable to store where the first move sits in mini-max's order - -1 if there isn't one
+		final int firstIndex = legalMoves.indexOf(firstMove);
+		// Variables to store the best move and where it sits in mini-max's order
+		Move bestMove = null;
+		int bestIndex = -1;
+		// Set the highest seen value to be the lowest number possible
+		int highestSeenValue = Integer.MIN_VALUE;
+		// Set the lowest seen value to be the highest number possible
+		int lowestSeenValue = Integer.MAX_VALUE;
+		// Variable to store the current value
+		int currentValue;
+
+		// Loop through the legal moves - the first move before the rest
+		for (int i = firstIndex < 0 ? 0 : -1; i < legalMoves.size(); i++) {
+
+			// Check if the first move has come round again in mini-max's order
+			if (i == firstIndex) {
+				continue;
+			}
+			// Variable to store where the move sits in mini-max's order
+			final int index = i < 0 ? firstIndex : i;
+			// Variable to store the move
+			final Move move = legalMoves.get(index);
+			// Make the move on the search board - every legal move can be made, so there is no transition to check
+			searchBoard.makeMove(MoveUtils.encode(move));
+
+			// Check if the current player is white
+			if (board.currentPlayer().getAlliance().isWhite()) {
+				// Set the current value - only whether the move reaches the highest seen value matters, so the window
+				// starts just below it
+				currentValue = min(searchBoard, depth - 1, 1,
+								   highestSeenValue == Integer.MIN_VALUE ? Integer.MIN_VALUE : highestSeenValue - 1, Integer.MAX_VALUE);
+			} else {
+				// Set the current value - only whether the move reaches the lowest seen value matters, so the window ends
+				// just above it
+				currentValue = max(searchBoard, depth - 1, 1,
+								   Integer.MIN_VALUE, lowestSeenValue == Integer.MAX_VALUE ? Integer.MAX_VALUE : lowestSeenValue + 1);
+			}
+			// Unmake the move to get back to the root
+			searchBoard.unmakeMove();
+
+			// Check if the budget ran out while the move was being searched
+			if (this.stopped) {
+				// Stop looking at the other moves - the value of this one is made up
+				break;
+			}
+
+			// Check is the current player is white and the current value is higher than the highest seen value - mini-max
+			// takes the last move with the highest value, so a tie goes to the move later in its order
+			if (board.currentPlayer().getAlliance().isWhite() &&
+				(currentValue > highestSeenValue || (currentValue == highestSeenValue && index > bestIndex))) {
+				// Set the highest seen value to be the higher current value
+				highestSeenValue = currentValue;
+				// Assign the values of the best move and its index
+				bestMove = move;
+				bestIndex = index;
+
+			// Check is the current player is black and the current value is lower than the lowest seen value - mini-max
+			// takes the last move with the lowest value, so a tie goes to the move later in its order
+			} else if (board.currentPlayer().getAlliance().isBlack() &&
+					   (currentValue < lowestSeenValue || (currentValue == lowestSeenValue && index > bestIndex))) {
+				// Set the lowest seen value to be the lower current value
+				lowestSeenValue = currentValue;
+				// Assign the values of the best move and its index
+				bestMove = move;
+				bestIndex = index;
+			}
+		}
+		// Return the best move
+		return bestMove;
+	}
+
+
+
+	// Method to return the min of the search board's position - fail-soft, so a value outside the window is still the best
+	// bound found. The search board is back in the position when it returns
+	public int min(final SearchBoard board, final int depth, final int ply, final int alpha, final int beta) {
+		// Check if the budget has run out
+		if (isOutOfBudget()) {
+			// Return anything - the value is thrown away once the search stops
+			return 0;
+		}
+
+		// Check if the depth is 0
+		if (depth == 0) {
+			// Carry on through the captures until the board is quiet, or evaluate the board as it is
+			return this.quiescence ? quiescenceMin(board, ply, alpha, beta) : this.boardEvaluator.evaluate(board, depth);
+		}
+		// Variable to store what the transposition table holds for the board - zero if it hasn't been searched
+		final long entry = this.transpositionTable != null ? this.transpositionTable.probe(board.getZobristKey()) : 0;
+
+		// Check if the board was searched deep enough before and the score found settles it for this window
+		if (isTableCutoff(entry, depth, alpha, beta)) {
+			// Return the stored score
+			return TranspositionTable.getScore(entry);
+		}
+		// Initialize a variable to store the lowest seen value and set it to the highest number possible
+		int lowestSeenValue = Integer.MAX_VALUE;
+		// Variable to store the upper end of the window - it comes down as lower values are found
+		int currentBeta = beta;
+		// Reset the ply's staged move generator - the best move found before first, then captures, the killer moves and the quiet moves
+		final StagedMoveGenerator moveGenerator = getMoveGenerator(ply).reset(board, TranspositionTable.getMove(entry), getKillerMoves(ply), false);
+		// Variables to store the move being searched and the move with the lowest value
+		int move;
+		int bestMove = MoveUtils.NULL_MOVE;
+
+		// Loop through all the current player's legal moves
+		while ((move = moveGenerator.nextMove()) != MoveUtils.NULL_MOVE) {
+			// Make the move, get the value of calling the max method and unmake it
+			board.makeMove(move);
+			final int currentValue = max(board, depth - 1, ply + 1, alpha, currentBeta);
+			board.unmakeMove();
+
+			// Check if the current value is less than the lowest seen value
+			if (currentValue < lowestSeenValue) {
+				// Set the value of the lowest seen value to be the lower current value
+				lowestSeenValue = currentValue;
+				bestMove = move;
+
+				// Check if the value is at or below the lower end of the window - the max player won't allow this board
+				if (lowestSeenValue <= alpha) {
+					// Stop looking at the other moves
+					storeKillerMove(move, ply);
+					break;
+				}
+				// Bring the upper end of the window down
+				currentBeta = Math.min(currentBeta, lowestSeenValue);
+			}
+		}
+		// Store the result in the transposition table and return the lowest seen value
+		// Check if there were no legal moves - the game is over
+		if (lowestSeenValue == Integer.MAX_VALUE) {
+			// Evaluate the check mate or stale mate
+			return this.boardEvaluator.evaluate(board, depth);
+		}
+		storeTableEntry(board, depth, alpha, beta, lowestSeenValue, bestMove);
+		return lowestSeenValue;
+	}
+
+
+
+	// Method to return the max of the search board's position - fail-soft, so a value outside the window is still the best
+	// bound found. The search board is back in the position when it returns
+	public int max(final SearchBoard board, final int depth, final int ply, final int alpha, final int beta) {
+		// Check if the budget has run out
+		if (isOutOfBudget()) {
+			// Return anything - the value is thrown away once the search stops
+			return 0;
+		}
+
+		// Check if the depth is 0
+		if (depth == 0) {
+			// Carry on through the captures until the board is quiet, or evaluate the board as it is
+			return this.quiescence ? quiescenceMax(board, ply, alpha, beta) : this.boardEvaluator.evaluate(board, depth);
+		}
+		// Variable to store what the transposition table holds for the board - zero if it hasn't been searched
+		final long entry = this.transpositionTable != null ? this.transpositionTable.probe(board.getZobristKey()) : 0;
+
+		// Check if the board was searched deep enough before and the score found settles it for this window
+		if (isTableCutoff(entry, depth, alpha, beta)) {
+			// Return the stored score
+			return TranspositionTable.getScore(entry);
+		}
+		// Initialize a variable to store the highest seen value and set it to the lowest number possible
+		int highestSeenValue = Integer.MIN_VALUE;
+		// Variable to store the lower end of the window - it goes up as higher values are found
+		int currentAlpha = alpha;
+		// Reset the ply's staged move generator - the best move found before first, then captures, the killer moves and the quiet moves
+		final StagedMoveGenerator moveGenerator = getMoveGenerator(ply).reset(board, TranspositionTable.getMove(entry), getKillerMoves(ply), false);
+		// Variables to store the move being searched and the move with the highest value
+		int move;
+		int bestMove = MoveUtils.NULL_MOVE;
+
+		// Loop through all the current player's legal moves
+		while ((move = moveGenerator.nextMove()) != MoveUtils.NULL_MOVE) {
+			// Make the move, get the value of calling the min method and unmake it
+			board.makeMove(move);
+			final int currentValue = min(board, depth - 1, ply + 1, currentAlpha, beta);
+			board.unmakeMove();
+
+			// Check if the current value is more than the highest seen value
+			if (currentValue > highestSeenValue) {
+				// Set the value of the highest seen value to be the higher current value
+				highestSeenValue = currentValue;
+				bestMove = move;
+
+				// Check if the value is at or above the upper end of the window - the min player won't allow this board
+				if (highestSeenValue >= beta) {
+					// Stop looking at the other moves
+					storeKillerMove(move, ply);
+					break;
+				}
+				// Bring the lower end of the window up
+				currentAlpha = Math.max(currentAlpha, highestSeenValue);
+			}
+		}
+		// Store the result in the transposition table and return the highest seen value
+		// Check if there were no legal moves - the game is over
+		if (highestSeenValue == Integer.MIN_VALUE) {
+			// Evaluate the check mate or stale mate
+			return this.boardEvaluator.evaluate(board, depth);
+		}
+		storeTableEntry(board, depth, alpha, beta, highestSeenValue, bestMove);
+		return highestSeenValue;
+	}
+
+
+
+	// Method to return the min of a board past the search depth - fail-soft. The min player can stand pat on the evaluation
+	// or make a capture or promotion, so an exchange is played out before the board is scored. In check there is no standing
+	// pat and every evasion is searched. Stale mate is only found by the main search - looking for it here would mean
+	// generating every legal move of every board
+	public int quiescenceMin(final SearchBoard board, final int ply, final int alpha, final int beta) {
+		// Check if the budget has run out
+		if (isOutOfBudget()) {
+			// Return anything - the value is thrown away once the search stops
+			return 0;
+		}
+		// Variable to store if the min player is in check
+		final boolean inCheck = board.isInCheck();
+		// Variable to store the evaluation of standing pat - the highest number possible in check, where it isn't allowed
+		final int standPat = inCheck ? Integer.MAX_VALUE : this.boardEvaluator.evaluate(board, 0);
+		// Initialize a variable to store the lowest seen value and set it to standing pat
+		int lowestSeenValue = standPat;
+
+		// Check if standing pat is already at or below the lower end of the window - the max player won't allow this board
+		if (lowestSeenValue <= alpha) {
+			// Return the value without looking at the captures
+			return lowestSeenValue;
+		}
+		// Variable to store the upper end of the window - standing pat is a value the min player can always have
+		int currentBeta = Math.min(beta, lowestSeenValue);
+		// Reset the ply's staged move generator for only the captures and promotions, the best victims first - or every move in check
+		final StagedMoveGenerator moveGenerator = getMoveGenerator(ply).reset(board, MoveUtils.NULL_MOVE, null, !inCheck);
+		// Variable to store the move being searched
+		int move;
+
+		// Loop through all the current player's legal captures and promotions, or evasions
+		while ((move = moveGenerator.nextMove()) != MoveUtils.NULL_MOVE) {
+
+			// Check if the move is a capture that can't bring the value below the window even with the margin, or one that
+			// loses the capturing piece
+			if (!inCheck && !MoveUtils.isPromotion(move) &&
+				(standPat - getCapturedValue(board, move) - DELTA_MARGIN >= currentBeta || isLosingCapture(board, move))) {
+				continue;
+			}
+			// Make the move, get the value of calling the quiescence max method and unmake it
+			board.makeMove(move);
+			final int currentValue = quiescenceMax(board, ply + 1, alpha, currentBeta);
+			board.unmakeMove();
+
+			// Check if the current value is less than the lowest seen value
+			if (currentValue < lowestSeenValue) {
+				// Set the value of the lowest seen value to be the lower current value
+				lowestSeenValue = currentValue;
+
+				// Check if the value is at or below the lower end of the window
+				if (lowestSeenValue <= alpha) {
+					// Return the value without looking at the other moves
+					return lowestSeenValue;
+				}
+				// Bring the upper end of the window down
+				currentBeta = lowestSeenValue;
+			}
+		}
+		// Return the lowest seen value, or the evaluation of the check mate if there was no evasion
+		return lowestSeenValue == Integer.MAX_VALUE ? this.boardEvaluator.evaluate(board, 0) : lowestSeenValue;
+	}
+
+
+
+	// Method to return the max of a board past the search depth - fail-soft. The max player can stand pat on the evaluation
+	// or make a capture or promotion, so an exchange is played out before the board is scored. In check there is no standing
+	// pat and every evasion is searched
+	public int quiescenceMax(final SearchBoard board, final int ply, final int alpha, final int beta) {
+		// Check if the budget has run out
+		if (isOutOfBudget()) {
+			// Return anything - the value is thrown away once the search stops
+			return 0;
+		}
+		// Variable to store if the max player is in check
+		final boolean inCheck = board.isInCheck();
+		// Variable to store the evaluation of standing pat - the lowest number possible in check, where it isn't allowed
+		final int standPat = inCheck ? Integer.MIN_VALUE : this.boardEvaluator.evaluate(board, 0);
+		// Initialize a variable to store the highest seen value and set it to standing pat
+		int highestSeenValue = standPat;
+
+		// Check if standing pat is already at or above the upper end of the window - the min player won't allow this board
+		if (highestSeenValue >= beta) {
+			// Return the value without looking at the captures
+			return highestSeenValue;
+		}
+		// Variable to store the lower end of the window - standing pat is a value the max player can always have
+		int currentAlpha = Math.max(alpha, highestSeenValue);
+		// Reset the ply's staged move generator for only the captures and promotions, the best victims first - or every move in check
+		final StagedMoveGenerator moveGenerator = getMoveGenerator(ply).reset(board, MoveUtils.NULL_MOVE, null, !inCheck);
+		// Variable to store the move being searched
+		int move;
+
+		// Loop through all the current player's legal captures and promotions, or evasions
+		while ((move = moveGenerator.nextMove()) != MoveUtils.NULL_MOVE) {
+
+			// Check if the move is a capture that can't bring the value above the window even with the margin, or one that
+			// loses the capturing piece
+			if (!inCheck && !MoveUtils.isPromotion(move) &&
+				(standPat + getCapturedValue(board, move) + DELTA_MARGIN <= currentAlpha || isLosingCapture(board, move))) {
+				continue;
+			}
+			// Make the move, get the value of calling the quiescence min method and unmake it
+			board.makeMove(move);
+			final int currentValue = quiescenceMin(board, ply + 1, currentAlpha, beta);
+			board.unmakeMove();
+
+			// Check if the current value is more than the highest seen value
+			if (currentValue > highestSeenValue) {
+				// Set the value of the highest seen value to be the higher current value
+				highestSeenValue = currentValue;
+
+				// Check if the value is at or above the upper end of the window
+				if (highestSeenValue >= beta) {
+					// Return the value without looking at the other moves
+					return highestSeenValue;
+				}
+				// Bring the lower end of the window up
+				currentAlpha = highestSeenValue;
+			}
+		}
+		// Return the highest seen value, or the evaluation of the check mate if there was no evasion
+		return highestSeenValue == Integer.MIN_VALUE ? this.boardEvaluator.evaluate(board, 0) : highestSeenValue;
+	}
+
+
+
+	// Method to check if a capture gives up more than it takes - a piece taking a cheaper one on a tile the opponent defends
+	private static boolean isLosingCapture(final SearchBoard board, final int move) {
+		// Return true if the capturing piece is worth more than the captured one and can be taken back
+		return board.getPieceType(MoveUtils.getCurrentCoordinate(move)).getPieceValue() > getCapturedValue(board, move) &&
+			   board.isSquareAttacked(MoveUtils.getDestinationCoordinate(move), board.getMoveMaker().isWhite() ? Alliance.BLACK : Alliance.WHITE);
+	}
+
+
+
+	// Method to return the value of the piece a capture takes - a pawn for en passant
+	private static int getCapturedValue(final SearchBoard board, final int move) {
+		// Return the value of the captured piece
+		return StagedMoveGenerator.getCapturedPieceType(board, move).getPieceValue();
+	}
+
+
+
+	// Method to check if a transposition table entry can stand in for searching a board to a depth with a window - it has
+	// to be at least as deep, or exactly as deep without the quiescence search so the value is mini-max's, and either exact
+	// or a bound that falls outside the window
+	private boolean isTableCutoff(final long entry, final int depth, final int alpha, final int beta) {
+
+		// Check if there is no entry or it wasn't searched to the right depth
+		if (entry == 0 || TranspositionTable.getDepth(entry) < depth || (!this.quiescence && TranspositionTable.getDepth(entry) != depth)) {
+			return false;
+		}
+		// Variable to store the stored score
+		final int score = TranspositionTable.getScore(entry);
+
+		// Check what kind of score it is
+		switch (TranspositionTable.getBound(entry)) {
+			case TranspositionTable.LOWER_BOUND:
+				// Return true if the board is worth at least the top of the window
+				return score >= beta;
+			case TranspositionTable.UPPER_BOUND:
+				// Return true if the board is worth at most the bottom of the window
+				return score <= alpha;
+			default:
+				// Return true - the exact value settles any window
+				return true;
+		}
+	}
+
+
+
+	// Method to store the value a search found for a board in the transposition table - fail-soft, so a value outside the
+	// window is a bound on the board's value rather than the value itself
+	private void storeTableEntry(final SearchBoard board, final int depth, final int alpha, final int beta, final int value, final int bestMove) {
+
+		// Check if there is no transposition table or the budget ran out during the search - the value is made up
+		if (this.transpositionTable == null || this.stopped) {
+			return;
+		}
+		// Variable to store the kind of score the value is
+		final int bound = value <= alpha ? TranspositionTable.UPPER_BOUND : value >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+		// Store the value with the move that found it
+		this.transpositionTable.store(board.getZobristKey(), depth, bound, value, bestMove);
+	}
+
+
+
+	// Method to count a board and check if the search has used up its time or boards
+	private boolean isOutOfBudget() {
+		// Count the board
+		this.nodesSearched++;
+
+		// Check if the search hasn't already stopped and has used up its boards, or it is time to look at the clock and the time is up
+		if (!this.stopped && (this.nodesSearched > this.nodeLimit ||
+			((this.nodesSearched % CLOCK_CHECK_INTERVAL) == 0 && System.nanoTime() - this.startTime >= this.timeLimit))) {
+			// Stop the search
+			this.stopped = true;
+		}
+		// Return true if the search has stopped
+		return this.stopped;
+	}
+
+
+
+	// Method to return the move generator for a ply - a new one if the ply is deeper than the table
+	private StagedMoveGenerator getMoveGenerator(final int ply) {
+		// Return the generator for the ply
+		return ply < this.moveGenerators.length ? this.moveGenerators[ply] : new StagedMoveGenerator();
+	}
+
+
+
+	// Method to return the killer moves for a ply - none if the ply is deeper than the table
+	private int[] getKillerMoves(final int ply) {
+		// Return the row for the ply
+		return ply < this.killerMoves.length ? this.killerMoves[ply] : null;
+	}
+
+
+
+	// Method to remember a quiet move that caused a cutoff at a ply - the newest goes first and the oldest drops out
+	private void storeKillerMove(final int move, final int ply) {
+
+		// Check if the move is a capture or promotion, the ply is off the table, or the move is already the first killer
+		if (StagedMoveGenerator.isCaptureOrPromotion(move) || ply >= this.killerMoves.length || move == this.killerMoves[ply][0]) {
+			return;
+		}
+		// Shift the killer moves down one and put the move first
+		System.arraycopy(this.killerMoves[ply], 0, this.killerMoves[ply], 1, NUM_KILLER_MOVES - 1);
+		this.killerMoves[ply][0] = move;
+	}
+
+
+
+	// Method to forget all the killer moves
+	private void clearKillerMoves() {
+
+		// Loop through the plies
+		for (final int[] plyKillerMoves : this.killerMoves) {
+			// Clear the killer moves of the ply
+			Arrays.fill(plyKillerMoves, MoveUtils.NULL_MOVE);
+		}
+	}
+}
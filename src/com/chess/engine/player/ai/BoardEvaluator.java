@@ -1,6 +1,7 @@
 package com.chess.engine.player.ai;
 
 import com.chess.engine.board.Board;
+import com.chess.engine.board.SearchBoard;
 
 
 
@@ -8,4 +9,11 @@ public interface BoardEvaluator {
 
 	// Method to evaluate the board and return an integer - positive number means white is winning, negative number means black is winning
 	int evaluate(Board board, int depth);
+	
+	// Method to evaluate a search board the same way - a snapshot board is evaluated unless the evaluator reads the search
+	// board directly
+	default int evaluate(final SearchBoard searchBoard, final int depth) {
+		// Return the evaluation of a board of the same position
+		return evaluate(searchBoard.toBoard(), depth);
+	}
 }
@@ -0,0 +1,164 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+
+
+
+public class IterativeDeepening implements MoveStrategy {
+
+	// Deepest search tried when no maximum depth is given
+	private static final int MAX_SEARCH_DEPTH = 32;
+	// Fraction of the time budget after which no new iteration is started - the next one takes several times as long as
+	// the last, so starting it late only throws the work away when the deadline stops it
+	private static final double ITERATION_START_LIMIT = 0.5;
+
+	// Declare in instance of board evaluator
+	private final BoardEvaluator boardEvaluator;
+	// Variable to store the deepest search to try
+	private final int maxDepth;
+	// Variables to store the time budget in milliseconds and the budget of boards to search - for each call to execute
+	private final long timeLimit;
+	private final long nodeLimit;
+	// Declare an instance of transposition table - kept from move to move, so the boards searched for one move order the next
+	private final TranspositionTable transpositionTable;
+	// Variable to store the depth of the last iteration the last call to execute completed
+	private int completedDepth;
+
+
+
+	// Constructor
+	public IterativeDeepening(final long timeLimit) {
+		// Call the main constructor with the standard board evaluator and no depth or board limit
+		this(new StandardBoardEvaluator(), MAX_SEARCH_DEPTH, timeLimit, Long.MAX_VALUE);
+	}
+
+
+
+	// Constructor that can set the board evaluator, the deepest search and the budget of boards
+	public IterativeDeepening(final BoardEvaluator boardEvaluator, final int maxDepth, final long timeLimit, final long nodeLimit) {
+		// Call the main constructor with a transposition table of the default size
+		this(boardEvaluator, maxDepth, timeLimit, nodeLimit, new TranspositionTable(TranspositionTable.DEFAULT_SIZE_MB));
+	}
+
+
+
+	// Constructor that can also set the transposition table
+	public IterativeDeepening(final BoardEvaluator boardEvaluator, final int maxDepth, final long timeLimit, final long nodeLimit,
+							  final TranspositionTable transpositionTable) {
+		// Assign the value of the board evaluator
+		this.boardEvaluator = boardEvaluator;
+		// Assign the value of the deepest search
+		this.maxDepth = maxDepth;
+		// Assign the values of the time and board budgets
+		this.timeLimit = timeLimit;
+		this.nodeLimit = nodeLimit;
+		// Assign the value of the transposition table
+		this.transpositionTable = transpositionTable;
+	}
+
+
+
+	// Override the to string method for iterative deepening
+	@Override
+	public String toString() {
+		// Return a string of iterative deepening
+		return "IterativeDeepening";
+	}
+
+
+
+	// Getter method for the depth of the last iteration completed by the last call to execute
+	public int getCompletedDepth() {
+		// Return the completed depth
+		return this.completedDepth;
+	}
+
+
+
+	// Override the execute method from move strategy - searches one ply deeper each iteration until the budget runs out. Each
+	// iteration searches the best move of the last one first. When the deadline stops an iteration part way, its result is
+	// only kept if it is still the last completed iteration's move, so the move played always comes from a finished search -
+	// unless not even the first iteration finished, when the best move searched in full is the only one there is
+	@Override
+	public Move execute(final Board board) {
+
+		// Variable to store the current time in milliseconds
+		final long startTime = System.currentTimeMillis();
+		// Initialize an alpha-beta search with the quiescence search - kept for every iteration so the killer moves and best
+		// moves of one are tried first in the next
+		final AlphaBeta alphaBeta = new AlphaBeta(this.boardEvaluator, this.maxDepth, this.transpositionTable, true);
+		// Variable to store the best move of the deepest completed iteration - or of the first one if it didn't complete
+		Move bestMove = null;
+		// Variable to store the number of boards searched by every iteration
+		long nodesSearched = 0;
+		// Reset the completed depth and start a new search in the transposition table
+		this.completedDepth = 0;
+		this.transpositionTable.newSearch();
+
+		// Print message to the console
+		System.out.println(board.currentPlayer() + " THINKING for " + this.timeLimit + " ms");
+
+		// Loop through the depths from one ply
+		for (int depth = 1; depth <= this.maxDepth; depth++) {
+			// Variable to store the time used so far
+			final long elapsedTime = System.currentTimeMillis() - startTime;
+
+			// Check if a completed iteration has already used too much of the time or the boards to start another
+			if (bestMove != null && (elapsedTime >= this.timeLimit * ITERATION_START_LIMIT || nodesSearched >= this.nodeLimit)) {
+				break;
+			}
+			// Search to the depth with whatever is left of the budget - the last iteration's best move first
+			final Move move = alphaBeta.search(board, depth, Math.max(this.timeLimit - elapsedTime, 0),
+											   this.nodeLimit == Long.MAX_VALUE ? Long.MAX_VALUE : Math.max(this.nodeLimit - nodesSearched, 0),
+											   bestMove);
+			// Add up the boards searched
+			nodesSearched += alphaBeta.getNodesSearched();
+
+			// Check if the iteration was stopped before it finished
+			if (alphaBeta.isStopped()) {
+
+				// Check if there is no completed iteration to fall back on - otherwise its move is kept, as a different move
+				// that beat it here might only have done so against replies the deadline left unsearched
+				if (bestMove == null) {
+					// Keep the best move searched in full, if there is one
+					bestMove = move;
+				}
+				break;
+			}
+			// Keep the best move of the completed iteration
+			bestMove = move;
+			// Set the completed depth
+			this.completedDepth = depth;
+		}
+
+		// Check if not even one move of the first iteration was searched in full
+		if (bestMove == null) {
+			// Fall back on the first legal move so a move is always made
+			bestMove = findFirstLegalMove(board);
+		}
+		// Print the number of boards searched and the time taken
+		System.out.println(board.currentPlayer() + " SEARCHED " + nodesSearched + " boards in " +
+						   (System.currentTimeMillis() - startTime) + " ms");
+		// Return the best move
+		return bestMove;
+	}
+
+
+
+	// Method to find the first legal move of a board - null if there are none
+	private static Move findFirstLegalMove(final Board board) {
+
+		// Loop through all the current player's legal moves
+		for (final Move move : board.currentPlayer().getLegalMoves()) {
+
+			// Check if the move can be completed
+			if (board.currentPlayer().makeMove(move).getMoveStatus().isDone()) {
+				// Return the move
+				return move;
+			}
+		}
+		// Return null - there are no legal moves
+		return null;
+	}
+}
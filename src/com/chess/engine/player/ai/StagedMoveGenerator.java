@@ -0,0 +1,329 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.MoveUtils;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.pieces.Piece.PieceType;
+
+
+
+public final class StagedMoveGenerator {
+
+	// The stages the generator works through in order - each one is only generated once the one before it has run out
+	private enum Stage {
+		HASH_MOVE,
+		GENERATE_CAPTURES,
+		CAPTURES,
+		KILLER_MOVES,
+		GENERATE_QUIET_MOVES,
+		QUIET_MOVES,
+		DONE
+	}
+
+	// Number of piece types - used to leave room in a capture score for the attacker tie break
+	private static final int NUM_PIECE_TYPES = PieceType.values().length;
+	// Empty array of killer moves for a board that has none
+	private static final int[] NO_KILLER_MOVES = new int[0];
+
+	// Variable to store the search board the moves are generated for - the moves are encoded for it
+	private SearchBoard board;
+	// Variable to store the encoded best move found for the position by an earlier search - the empty move if there isn't one
+	private int hashMove;
+	// Array to store the encoded quiet moves that caused cutoffs in sibling positions
+	private int[] killerMoves;
+	// Variable to store if only the captures and promotions are handed out
+	private boolean capturesOnly;
+
+	// Variable to store the stage the generator is in
+	private Stage stage;
+	// List to store the moves of the current stage and an array to store their ordering scores - kept from one board to the next
+	private final MoveList moves;
+	private final int[] scores;
+	// Variable to store how many of the moves of the current stage have been handed out
+	private int moveIndex;
+	// Variable to store how many of the killer moves have been tried
+	private int killerIndex;
+
+	// Array to store the moves handed out before the stage that would generate them again
+	private int[] triedMoves;
+	// Variable to store the number of tried moves
+	private int numTriedMoves;
+
+
+
+	// Constructor for a generator with no board yet - reset it to a board before asking for moves. A search keeps one for
+	// each ply, so the buffers are only made once
+	public StagedMoveGenerator() {
+		// Declare the move buffers
+		this.moves = new MoveList();
+		this.scores = new int[SearchBoard.MAX_MOVES];
+		this.triedMoves = new int[1];
+		// Start with every stage done - there is no board to generate moves for
+		this.stage = Stage.DONE;
+	}
+
+
+
+	// Constructor for a search board with a hash move and killer moves
+	public StagedMoveGenerator(final SearchBoard board, final int hashMove, final int[] killerMoves) {
+		// Call the empty constructor and reset it to the board for every move
+		this();
+		reset(board, hashMove, killerMoves, false);
+	}
+
+
+
+	// Constructor for only the captures and promotions, best first - for searching past the horizon until the board is quiet
+	public StagedMoveGenerator(final SearchBoard board, final boolean capturesOnly) {
+		// Call the empty constructor and reset it to the board with nothing to try first
+		this();
+		reset(board, MoveUtils.NULL_MOVE, null, capturesOnly);
+	}
+
+
+
+	// Convenience constructor for a position with no hash move or killer moves
+	public StagedMoveGenerator(final SearchBoard board) {
+		// Call the constructor with nothing to try first
+		this(board, MoveUtils.NULL_MOVE, null);
+	}
+
+
+
+	// Method to start handing out the moves of the search board's position - the buffers are reused, so nothing is allocated.
+	// The search board mustn't be moved from the position until the generator is done or reset. Returns the generator so it
+	// can be reset where it is used
+	public StagedMoveGenerator reset(final SearchBoard board, final int hashMove, final int[] killerMoves, final boolean capturesOnly) {
+		// Assign the value of the search board
+		this.board = board;
+		// Assign the value of the hash move and the killer moves - treat missing killer moves as nothing to try
+		this.hashMove = hashMove;
+		this.killerMoves = killerMoves != null ? killerMoves : NO_KILLER_MOVES;
+		// Assign the value of captures only
+		this.capturesOnly = capturesOnly;
+
+		// Check if the tried moves can't hold the hash move and every killer move
+		if (this.triedMoves.length < 1 + this.killerMoves.length) {
+			// Declare a larger array - only done the first time a generator is given killer moves
+			this.triedMoves = new int[1 + this.killerMoves.length];
+		}
+		// Start with the hash move and nothing handed out
+		this.stage = Stage.HASH_MOVE;
+		this.moves.clear();
+		this.moveIndex = 0;
+		this.killerIndex = 0;
+		this.numTriedMoves = 0;
+		// Return the reset generator
+		return this;
+	}
+
+
+
+	// Method to return the next legal move, encoded - the empty move once every move has been handed out
+	public int nextMove() {
+
+		// Keep going until a stage hands out a move or every stage is done
+		while (true) {
+
+			// Check which stage the generator is in
+			switch (this.stage) {
+
+				case HASH_MOVE:
+					// Move on to the captures next whatever happens
+					this.stage = Stage.GENERATE_CAPTURES;
+
+					// Check if there is a hash move, it is a wanted kind of move and it is legal here
+					if (this.hashMove != MoveUtils.NULL_MOVE && (!this.capturesOnly || isCaptureOrPromotion(this.hashMove)) &&
+						this.board.isMoveLegal(this.hashMove)) {
+						// Remember it so it isn't handed out again and return it
+						this.triedMoves[this.numTriedMoves++] = this.hashMove;
+						return this.hashMove;
+					}
+					break;
+
+				case GENERATE_CAPTURES:
+					// Generate the captures and promotions, scored so the best victim and cheapest attacker come first
+					generateCaptures();
+					this.stage = Stage.CAPTURES;
+					break;
+
+				case CAPTURES:
+
+					// Check if there are captures left
+					if (this.moveIndex < this.moves.size()) {
+						// Return the best capture left
+						return pickBestMove();
+					}
+					// Move on to the killer moves - or finish if only the captures are wanted
+					this.stage = this.capturesOnly ? Stage.DONE : Stage.KILLER_MOVES;
+					break;
+
+				case KILLER_MOVES:
+
+					// Loop through the killer moves that haven't been tried yet
+					while (this.killerIndex < this.killerMoves.length) {
+						// Variable to store the next killer move
+						final int move = this.killerMoves[this.killerIndex++];
+
+						// Check if the killer is a quiet move that hasn't already been handed out and is legal here
+						if (move != MoveUtils.NULL_MOVE && !isCaptureOrPromotion(move) && !wasTried(move) && this.board.isMoveLegal(move)) {
+							// Remember it so it isn't handed out again and return it
+							this.triedMoves[this.numTriedMoves++] = move;
+							return move;
+						}
+					}
+					// Move on to the quiet moves
+					this.stage = Stage.GENERATE_QUIET_MOVES;
+					break;
+
+				case GENERATE_QUIET_MOVES:
+					// Generate the quiet moves, castles included
+					generateQuietMoves();
+					this.stage = Stage.QUIET_MOVES;
+					break;
+
+				case QUIET_MOVES:
+
+					// Check if there are quiet moves left
+					if (this.moveIndex < this.moves.size()) {
+						// Return the next quiet move in the order they were generated
+						return this.moves.get(this.moveIndex++);
+					}
+					// Every move has been handed out
+					this.stage = Stage.DONE;
+					break;
+
+				default:
+					// Return the empty move - there are no moves left
+					return MoveUtils.NULL_MOVE;
+			}
+		}
+	}
+
+
+
+	// Method to fill the move buffer with the legal captures and promotions that haven't been tried yet
+	private void generateCaptures() {
+		// Reset the move buffer and generate only the legal captures and promotions - the quiet moves aren't made at all
+		this.moves.clear();
+		this.moveIndex = 0;
+		this.board.generateLegalCaptures(this.moves);
+		// Variable to store the number of moves kept
+		int numMoves = 0;
+
+		// Loop through the captures and promotions
+		for (int i = 0; i < this.moves.size(); i++) {
+			// Variable to store the move
+			final int move = this.moves.get(i);
+
+			// Check if the move hasn't been handed out yet
+			if (!wasTried(move)) {
+				// Keep the move and its score
+				this.scores[numMoves] = scoreCapture(move);
+				this.moves.set(numMoves++, move);
+			}
+		}
+		// Drop the moves that weren't kept
+		this.moves.truncate(numMoves);
+	}
+
+
+
+	// Method to fill the move buffer with the legal quiet moves that haven't been tried yet
+	private void generateQuietMoves() {
+		// Reset the move buffer and generate only the legal quiet moves
+		this.moves.clear();
+		this.moveIndex = 0;
+		this.board.generateLegalQuietMoves(this.moves);
+		// Variable to store the number of moves kept
+		int numMoves = 0;
+
+		// Loop through the quiet moves
+		for (int i = 0; i < this.moves.size(); i++) {
+
+			// Check if the move hasn't been handed out yet
+			if (!wasTried(this.moves.get(i))) {
+				// Keep the move
+				this.moves.set(numMoves++, this.moves.get(i));
+			}
+		}
+		// Drop the moves that weren't kept
+		this.moves.truncate(numMoves);
+	}
+
+
+
+	// Method to hand out the highest scoring move left in the buffer - a selection sort one step at a time, so a cutoff
+	// after the first few captures never pays for sorting the rest
+	private int pickBestMove() {
+		// Variable to store the index of the best move left
+		int bestIndex = this.moveIndex;
+
+		// Loop through the rest of the moves left
+		for (int i = this.moveIndex + 1; i < this.moves.size(); i++) {
+
+			// Check if the move scores higher
+			if (this.scores[i] > this.scores[bestIndex]) {
+				bestIndex = i;
+			}
+		}
+		// Variable to store the best move
+		final int bestMove = this.moves.get(bestIndex);
+		// Swap the move at the front of what's left into the best move's place
+		this.moves.set(bestIndex, this.moves.get(this.moveIndex));
+		this.scores[bestIndex] = this.scores[this.moveIndex];
+		// Step past the best move and return it
+		this.moveIndex++;
+		return bestMove;
+	}
+
+
+
+	// Method to check if a move has already been handed out by an earlier stage
+	private boolean wasTried(final int move) {
+
+		// Loop through the tried moves
+		for (int i = 0; i < this.numTriedMoves; i++) {
+
+			// Check if the tried move is the same move - promotions to different pieces are different moves
+			if (this.triedMoves[i] == move) {
+				// Return true - it has been handed out
+				return true;
+			}
+		}
+		// Return false - it hasn't been handed out
+		return false;
+	}
+
+
+
+	// Method to check if an encoded move takes a piece or promotes a pawn
+	static boolean isCaptureOrPromotion(final int move) {
+		// Return true for captures, en passant included, and pawn promotions
+		return MoveUtils.isCapture(move) || MoveUtils.isPromotion(move);
+	}
+
+
+
+	// Method to score a capture by most valuable victim, least valuable attacker - a promotion counts the piece it gains
+	private int scoreCapture(final int move) {
+		// Variable to store the value the move wins - the taken piece, a pawn for en passant, plus the piece gained over the
+		// pawn when promoting
+		int gainedValue = MoveUtils.isCapture(move) ? getCapturedPieceType(this.board, move).getPieceValue() : 0;
+
+		// Check if the move is a promotion - an underpromotion gains less, so it is tried after the queen
+		if (MoveUtils.isPromotion(move)) {
+			gainedValue += MoveUtils.getPromotionPieceType(move).getPieceValue() - PieceType.PAWN.getPieceValue();
+		}
+		// Return the gained value with the cheaper attackers breaking ties
+		return gainedValue * NUM_PIECE_TYPES - this.board.getPieceType(MoveUtils.getCurrentCoordinate(move)).ordinal();
+	}
+
+
+
+	// Method to find the type of the piece an encoded capture takes on a search board before it is made
+	static PieceType getCapturedPieceType(final SearchBoard board, final int move) {
+		// Return a pawn for en passant - the destination is empty - otherwise the piece on the destination
+		return MoveUtils.getFlag(move) == MoveUtils.EN_PASSANT ? PieceType.PAWN : board.getPieceType(MoveUtils.getDestinationCoordinate(move));
+	}
+}
@@ -1,7 +1,8 @@
 package com.chess.engine.player.ai;
 
+import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
-import com.chess.engine.pieces.Piece;
+import com.chess.engine.board.SearchBoard;
 import com.chess.engine.player.Player;
 
 
@@ -28,10 +29,37 @@ public final class StandardBoardEvaluator implements BoardEvaluator {
 
 	
 	
+	// Override the evaluate method for a search board - scores the position the same as a board of it, reading the search
+	// board's material, checks and legal move counts so no board is built
+	@Override
+	public int evaluate(final SearchBoard searchBoard, final int depth) {
+		// Variables to store the number of legal moves of each color
+		final int whiteMobility = searchBoard.countLegalMoves(Alliance.WHITE);
+		final int blackMobility = searchBoard.countLegalMoves(Alliance.BLACK);
+		// Return the result of the white player's score minus the black player's score
+		return scorePlayer(searchBoard, Alliance.WHITE, whiteMobility, blackMobility, depth) -
+			   scorePlayer(searchBoard, Alliance.BLACK, blackMobility, whiteMobility, depth);
+	}
+
+	
+	
+	// Method to calculate the score for a color on a search board from its and the opponent's legal move counts
+	private static int scorePlayer(final SearchBoard searchBoard, final Alliance alliance, final int mobility, final int opponentMobility,
+								   final int depth) {
+		// Variable to store if the opponent is in check
+		final boolean opponentInCheck = searchBoard.isInCheck(alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE);
+		// Return the score for the color - the opponent is in check mate if it is in check with no legal moves. The castled
+		// bonus is left out, as a player is never marked as castled
+		return searchBoard.getMaterial(alliance) + mobility + (opponentInCheck ? CHECK_BONUS : 0) +
+			   (opponentInCheck && opponentMobility == 0 ? CHECK_MATE_BONUS * depthBonus(depth) : 0);
+	}
+
+	
+
 	// Method to calculate the score for a player
 	private int scorePlayer(final Board board, final Player player, final int depth) {
 		// Return the score for a player
-		return pieceValue(player) + mobility(player) + check(player) + checkMate(player, depth) + castled(player);
+		return pieceValue(board, player) + mobility(player) + check(player) + checkMate(player, depth) + castled(player);
 	}
 
 	
@@ -77,17 +105,9 @@ public final class StandardBoardEvaluator implements BoardEvaluator {
 
 
 	// Method to calculate the total value of all a player's active pieces
-	private static int pieceValue(final Player player) {
-		// Variable to store the score of all the piece values
-		int pieceValueScore = 0;
-		
-		// Loop through all the player's active pieces
-		for (final Piece piece : player.getActivePieces()) {
-			// Add the value of the piece to the piece value score
-			pieceValueScore += piece.getPieceValue();
-		}
-		// Return the piece value score
-		return pieceValueScore;
+	private static int pieceValue(final Board board, final Player player) {
+		// Return the running total the board keeps for the player's color
+		return board.getMaterial(player.getAlliance());
 	}
 
 }
@@ -0,0 +1,202 @@
+package com.chess.engine.player.ai;
+
+import java.util.Arrays;
+
+
+
+public final class TranspositionTable {
+
+	// Size of the table in megabytes when none is given
+	public static final int DEFAULT_SIZE_MB = 16;
+
+	// Kinds of score an entry can hold - the exact value of the board, or only a bound on it when the search cut off
+	public static final int EXACT = 0;
+	public static final int LOWER_BOUND = 1;
+	public static final int UPPER_BOUND = 2;
+
+	// Largest depth an entry can hold
+	public static final int MAX_DEPTH = 0xFF;
+
+	// Number of bytes each entry takes - a long for the checked key and a long for the data
+	private static final int ENTRY_BYTES = 16;
+	// Largest number of entries - keeps the length of the array under the largest a java array can be
+	private static final int MAX_ENTRIES = 1 << 29;
+
+	// Variables to store where each field sits in the data of an entry - bits 0-18 are the encoded best move, 19-50 the
+	// score, 51-58 the depth, 59-60 the kind of score and 61-63 the search the entry was stored in
+	private static final int SCORE_SHIFT = 19;
+	private static final int DEPTH_SHIFT = 51;
+	private static final int BOUND_SHIFT = 59;
+	private static final int GENERATION_SHIFT = 61;
+	// Variables to store the masks for each field
+	private static final long MOVE_MASK = 0x7FFFF;
+	private static final long SCORE_MASK = 0xFFFFFFFFL;
+	private static final long BOUND_MASK = 0x3;
+	private static final long GENERATION_MASK = 0x7;
+
+	// Array to store the entries - two longs each, the zobrist key xor the data and then the data. Nothing is locked, so two
+	// threads can write the same entry at once and leave the halves of different stores behind. The key is only given back
+	// by xoring the halves of the same store, so a mixed up entry just doesn't match and is read as a miss
+	private final long[] entries;
+	// Variable to store the mask that turns a zobrist key into an entry index - the number of entries is a power of two
+	private final int indexMask;
+	// Variable to store how an entry is picked to be overwritten
+	private final ReplacementPolicy replacementPolicy;
+	// Variable to store the search the table is being used by - entries left by earlier searches are replaced first
+	private volatile int generation;
+
+
+
+	// Constructor
+	public TranspositionTable(final int sizeMegabytes) {
+		// Call the main constructor with depth preferred replacement
+		this(sizeMegabytes, ReplacementPolicy.DEPTH_PREFERRED);
+	}
+
+
+
+	// Constructor that can set the replacement policy - the table takes at most the size given in megabytes
+	public TranspositionTable(final int sizeMegabytes, final ReplacementPolicy replacementPolicy) {
+
+		// Check that the size leaves room for at least one entry
+		if (sizeMegabytes < 1) {
+			// Throw a runtime exception error - the table would be empty
+			throw new RuntimeException("Invalid transposition table size: " + sizeMegabytes + " MB");
+		}
+		// Variable to store the number of entries - the largest power of two that fits in the size
+		final int numEntries = (int) Long.highestOneBit(Math.min((long) sizeMegabytes * 1024 * 1024 / ENTRY_BYTES, MAX_ENTRIES));
+		// Declare the entries
+		this.entries = new long[numEntries * 2];
+		// Assign the values of the index mask and the replacement policy
+		this.indexMask = numEntries - 1;
+		this.replacementPolicy = replacementPolicy;
+	}
+
+
+
+	// Getter method for the number of entries the table holds
+	public int getNumEntries() {
+		// Return the number of entries
+		return this.indexMask + 1;
+	}
+
+
+
+	// Method to start a new search - the entries already in the table are kept but are the first to be replaced
+	public void newSearch() {
+		// Move on to the next generation - it wraps round once every few searches
+		this.generation = (int) ((this.generation + 1) & GENERATION_MASK);
+	}
+
+
+
+	// Method to empty the table
+	public void clear() {
+		// Set every entry back to zero
+		Arrays.fill(this.entries, 0);
+	}
+
+
+
+	// Method to look up the data stored for a zobrist key - zero if the table doesn't hold the position
+	public long probe(final long zobristKey) {
+		// Variable to store the index of the key's entry
+		final int index = calculateIndex(zobristKey);
+		// Variable to store the data - read once so the check and the value returned are the same
+		final long data = this.entries[index + 1];
+
+		// Return the data if the key half xors back to the key, otherwise zero
+		return data != 0 && (this.entries[index] ^ data) == zobristKey ? data : 0;
+	}
+
+
+
+	// Method to store the result of searching a board - the replacement policy decides if it overwrites what the entry holds
+	public void store(final long zobristKey, final int depth, final int bound, final int score, final int bestMove) {
+		// Variable to store the index of the key's entry
+		final int index = calculateIndex(zobristKey);
+		// Variable to store the data already in the entry
+		final long storedData = this.entries[index + 1];
+		// Variable to store if the entry already holds the same position
+		final boolean samePosition = storedData != 0 && (this.entries[index] ^ storedData) == zobristKey;
+
+		// Check if the entry is empty or the policy allows the new result to replace it
+		if (storedData == 0 || this.replacementPolicy.shouldReplace(storedData, samePosition, depth, this.generation)) {
+			// Variable to store the data of the new result
+			final long data = (bestMove & MOVE_MASK) |
+							  ((score & SCORE_MASK) << SCORE_SHIFT) |
+							  ((long) Math.min(Math.max(depth, 0), MAX_DEPTH) << DEPTH_SHIFT) |
+							  ((bound & BOUND_MASK) << BOUND_SHIFT) |
+							  ((long) this.generation << GENERATION_SHIFT);
+			// Write the checked key and the data
+			this.entries[index] = zobristKey ^ data;
+			this.entries[index + 1] = data;
+		}
+	}
+
+
+
+	// Getter method for the encoded best move of an entry's data
+	public static int getMove(final long data) {
+		// Return the move bits
+		return (int) (data & MOVE_MASK);
+	}
+
+	// Getter method for the score of an entry's data
+	public static int getScore(final long data) {
+		// Return the score bits - the cast gives the sign back
+		return (int) (data >>> SCORE_SHIFT);
+	}
+
+	// Getter method for the depth of an entry's data
+	public static int getDepth(final long data) {
+		// Return the depth bits
+		return (int) ((data >>> DEPTH_SHIFT) & MAX_DEPTH);
+	}
+
+	// Getter method for the kind of score of an entry's data
+	public static int getBound(final long data) {
+		// Return the bound bits
+		return (int) ((data >>> BOUND_SHIFT) & BOUND_MASK);
+	}
+
+	// Getter method for the search an entry's data was stored in
+	public static int getGeneration(final long data) {
+		// Return the generation bits
+		return (int) ((data >>> GENERATION_SHIFT) & GENERATION_MASK);
+	}
+
+
+
+	// Method to work out the index of the first long of a key's entry
+	private int calculateIndex(final long zobristKey) {
+		// Return the low bits of the key doubled - each entry takes two longs
+		return ((int) zobristKey & this.indexMask) << 1;
+	}
+
+
+
+	// The ways an entry can be picked to be overwritten when a new result lands on it
+	public enum ReplacementPolicy {
+
+		ALWAYS_REPLACE {
+			// Override the should replace method - the newest result always wins
+			@Override
+			boolean shouldReplace(final long storedData, final boolean samePosition, final int depth, final int generation) {
+				return true;
+			}
+		},
+
+		DEPTH_PREFERRED {
+			// Override the should replace method - a deeper result from this search is kept over a shallower one of another
+			// position, as it cost more to find, while results of the same position or of an earlier search are replaced
+			@Override
+			boolean shouldReplace(final long storedData, final boolean samePosition, final int depth, final int generation) {
+				return samePosition || getGeneration(storedData) != generation || depth >= getDepth(storedData);
+			}
+		};
+
+		// Method to check if an entry holding the stored data should be overwritten by a result searched to a depth
+		abstract boolean shouldReplace(long storedData, boolean samePosition, int depth, int generation);
+	}
+}
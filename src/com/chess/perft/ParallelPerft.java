@@ -0,0 +1,256 @@
+package com.chess.perft;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.MoveUtils;
+import com.chess.engine.board.SearchBoard;
+import com.chess.pgn.FenUtilities;
+
+
+
+public final class ParallelPerft {
+
+	// Number of plies below the root that are split into their own tasks - the root moves and their replies. Deeper than
+	// that the subtrees are counted on one thread as the tasks would cost more than they share out
+	private static final int SPLIT_PLIES = 2;
+
+
+
+	// Constructor
+	private ParallelPerft() {
+		// Throw runtime exception in case someone tries to instantiate it
+		throw new RuntimeException("You cannot instantiate me!");
+	}
+
+
+
+	// Entry point - takes the depth and optionally a FEN string, and counts with 1, 2, 4 ... threads up to the number of
+	// processors, printing the divide counts and how well each thread count scales against one thread
+	public static void main(final String[] args) {
+
+		// Check that a depth was given
+		if (args.length < 1) {
+			// Print how to run it and stop
+			System.out.println("Usage: ParallelPerft <depth> [FEN]");
+			return;
+		}
+		// Variable to store the depth to count to
+		final int depth = Integer.parseInt(args[0]);
+		// Variable to store the board to count from - the standard board unless a FEN string was given
+		final Board board = args.length > 1 ? FenUtilities.createGameFromFEN(Perft.joinArguments(args, 1)) : Board.createStandardBoard();
+		// Variable to store the number of processors
+		final int numProcessors = Runtime.getRuntime().availableProcessors();
+		// Variable to store the time taken with one thread - the baseline every other thread count is compared to
+		long singleThreadTime = 0;
+		// Variable to store the divide counts of the last run
+		Map<Move, Long> divide = null;
+
+		// Count once a ply shallower without timing it - so the single thread baseline isn't measured before the code is compiled
+		perft(board, Math.max(depth - 1, 1), ForkJoinPool.commonPool());
+
+		// Print the table heading
+		System.out.println("Threads\tNodes\tTime (ms)\tNodes per second\tSpeedup\tEfficiency");
+
+		// Loop through the thread counts
+		for (final int numThreads : calculateThreadCounts(numProcessors)) {
+			// Initialize a pool with the thread count
+			final ForkJoinPool pool = new ForkJoinPool(numThreads);
+			// Variable to store the time the count started in nanoseconds
+			final long startTime = System.nanoTime();
+			// Count the leaf nodes under each root move
+			divide = divide(board, depth, pool);
+			// Variable to store the time the count took in nanoseconds
+			final long executionTime = System.nanoTime() - startTime;
+			// Shut the pool down
+			pool.shutdown();
+
+			// Check if this is the single thread run
+			if (numThreads == 1) {
+				singleThreadTime = executionTime;
+			}
+			// Variables to store the total nodes and how many times faster than one thread the count was
+			final long nodes = sumNodes(divide);
+			final double speedup = (double) singleThreadTime / Math.max(executionTime, 1);
+			// Print the row for the thread count
+			System.out.println(numThreads + "\t" + nodes + "\t" + (executionTime / 1000000) + "\t" +
+							   Perft.calculateNodesPerSecond(nodes, executionTime) + "\t" + String.format("%.2f", speedup) + "\t" +
+							   String.format("%.0f%%", 100 * speedup / numThreads));
+		}
+
+		// Print the divide counts of the last run
+		System.out.println();
+
+		// Loop through the root moves
+		for (final Map.Entry<Move, Long> entry : divide.entrySet()) {
+			// Print the move and the leaf nodes under it
+			System.out.println(MoveUtils.toString(MoveUtils.encode(entry.getKey())) + ": " + entry.getValue());
+		}
+		// Print the totals
+		System.out.println();
+		System.out.println("Moves: " + divide.size());
+		System.out.println("Nodes: " + sumNodes(divide));
+	}
+
+
+
+	// Method to count the leaf nodes of the move tree of a board to a depth on a pool
+	public static long perft(final Board board, final int depth, final ForkJoinPool pool) {
+		// Return the sum of the divide counts
+		return sumNodes(divide(board, depth, pool));
+	}
+
+
+
+	// Method to count the leaf nodes under each legal move of a board on a pool - in the order the moves are generated. Each
+	// task gets its own copy of the position to make and unmake moves on, and the board itself is only used on this thread,
+	// so no board or search board is ever shared between threads
+	public static Map<Move, Long> divide(final Board board, final int depth, final ForkJoinPool pool) {
+		// Initialize a search board of the position and generate its legal moves
+		final SearchBoard searchBoard = new SearchBoard(board);
+		final MoveList moves = searchBoard.generateLegalMoves();
+		// Array list to store a task for each root move
+		final List<PerftTask> tasks = new ArrayList<>();
+
+		// Loop through the legal moves of the player to move
+		for (int i = 0; i < moves.size(); i++) {
+			// Create a task to count the leaves under the move
+			tasks.add(new PerftTask(createChild(searchBoard, moves.get(i)), depth - 1, SPLIT_PLIES - 1));
+		}
+
+		// Run all the tasks on the pool
+		pool.invoke(new RecursiveTask<Void>() {
+
+			// Serial version id of the task
+			private static final long serialVersionUID = 1L;
+
+			// Override the compute method to fork every root task and wait for them all
+			@Override
+			protected Void compute() {
+				// Fork and join all the root tasks
+				invokeAll(tasks);
+				return null;
+			}
+		});
+		// Linked hash map to store the count for each root move
+		final Map<Move, Long> divide = new LinkedHashMap<>();
+
+		// Loop through the legal moves again in the same order
+		for (int i = 0; i < moves.size(); i++) {
+			// Store the count of the move's task against the matching move object
+			divide.put(Move.MoveFactory.createMove(board, moves.get(i)), tasks.get(i).join());
+		}
+		// Return the counts
+		return divide;
+	}
+
+
+
+	// Method to create a copy of a search board with a move made on it - for a task to own
+	private static SearchBoard createChild(final SearchBoard searchBoard, final int move) {
+		// Copy the search board and make the move on the copy
+		final SearchBoard child = new SearchBoard(searchBoard);
+		child.makeMove(move);
+		// Return the copy
+		return child;
+	}
+
+
+
+	// Method to work out the thread counts to time - doubling from one and always finishing on the number of processors
+	private static List<Integer> calculateThreadCounts(final int numProcessors) {
+		// Array list to store the thread counts
+		final List<Integer> threadCounts = new ArrayList<>();
+
+		// Loop through the powers of two below the number of processors
+		for (int numThreads = 1; numThreads < numProcessors; numThreads *= 2) {
+			threadCounts.add(numThreads);
+		}
+		// Add the number of processors last
+		threadCounts.add(numProcessors);
+		// Return the thread counts
+		return threadCounts;
+	}
+
+
+
+	// Method to add up the counts of a divide
+	private static long sumNodes(final Map<Move, Long> divide) {
+		// Variable to store the total
+		long nodes = 0;
+
+		// Loop through the counts
+		for (final long count : divide.values()) {
+			nodes += count;
+		}
+		// Return the total
+		return nodes;
+	}
+
+
+
+	// Task to count the leaf nodes under a search board it owns - splits into a task for each move while there are split
+	// plies left, each with its own copy
+	private static final class PerftTask extends RecursiveTask<Long> {
+
+		// Serial version id of the task
+		private static final long serialVersionUID = 1L;
+
+		// Variables to store the search board, the depth left and how many more plies split into tasks
+		private final SearchBoard searchBoard;
+		private final int depth;
+		private final int splitPlies;
+
+
+
+		// Constructor
+		PerftTask(final SearchBoard searchBoard, final int depth, final int splitPlies) {
+			// Assign the values of the search board, depth and split plies
+			this.searchBoard = searchBoard;
+			this.depth = depth;
+			this.splitPlies = splitPlies;
+		}
+
+
+
+		// Override the compute method to count the leaves
+		@Override
+		protected Long compute() {
+
+			// Check if the subtree is small enough or deep enough down to count on this thread
+			if (this.splitPlies <= 0 || this.depth <= 1) {
+				// Return the count from the single thread perft
+				return Perft.perft(this.searchBoard, this.depth);
+			}
+			// Array list to store a task for each move
+			final List<PerftTask> tasks = new ArrayList<>();
+
+			// Variable to store the legal moves of the side to move
+			final MoveList moves = this.searchBoard.generateLegalMoves();
+
+			// Loop through the legal moves
+			for (int i = 0; i < moves.size(); i++) {
+				// Create a task to count the leaves under the move
+				tasks.add(new PerftTask(createChild(this.searchBoard, moves.get(i)), this.depth - 1, this.splitPlies - 1));
+			}
+			// Fork and join all the tasks
+			invokeAll(tasks);
+			// Variable to store the total
+			long nodes = 0;
+
+			// Loop through the tasks and add up their counts
+			for (final PerftTask task : tasks) {
+				nodes += task.join();
+			}
+			// Return the total
+			return nodes;
+		}
+	}
+}
@@ -0,0 +1,150 @@
+package com.chess.perft;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.MoveUtils;
+import com.chess.engine.board.SearchBoard;
+import com.chess.pgn.FenUtilities;
+
+
+
+public final class Perft {
+
+	// Constructor
+	private Perft() {
+		// Throw runtime exception in case someone tries to instantiate it
+		throw new RuntimeException("You cannot instantiate me!");
+	}
+
+
+
+	// Entry point - takes the depth and optionally a FEN string, and prints the divide counts, total nodes and speed
+	public static void main(final String[] args) {
+
+		// Check that a depth was given
+		if (args.length < 1) {
+			// Print how to run it and stop
+			System.out.println("Usage: Perft <depth> [FEN]");
+			return;
+		}
+		// Variable to store the depth to count to
+		final int depth = Integer.parseInt(args[0]);
+		// Variable to store the board to count from - the standard board unless a FEN string was given
+		final Board board = args.length > 1 ? FenUtilities.createGameFromFEN(joinArguments(args, 1)) : Board.createStandardBoard();
+
+		// Variable to store the time the count started in nanoseconds
+		final long startTime = System.nanoTime();
+		// Count the leaf nodes under each root move
+		final Map<Move, Long> divide = divide(board, depth);
+		// Variable to store the time the count took in nanoseconds
+		final long executionTime = System.nanoTime() - startTime;
+		// Variable to store the total number of leaf nodes
+		long nodes = 0;
+
+		// Loop through the root moves
+		for (final Map.Entry<Move, Long> entry : divide.entrySet()) {
+			// Print the move and the leaf nodes under it, and add them to the total
+			System.out.println(MoveUtils.toString(MoveUtils.encode(entry.getKey())) + ": " + entry.getValue());
+			nodes += entry.getValue();
+		}
+		// Print the totals
+		System.out.println();
+		System.out.println("Moves: " + divide.size());
+		System.out.println("Nodes: " + nodes);
+		System.out.println("Time: " + (executionTime / 1000000) + " ms");
+		System.out.println("Nodes per second: " + calculateNodesPerSecond(nodes, executionTime));
+	}
+
+
+
+	// Method to count the leaf nodes of the move tree of a board to a depth
+	public static long perft(final Board board, final int depth) {
+		// Return the count from a search board of the position - the tree is walked in place without creating a board per node
+		return perft(new SearchBoard(board), depth);
+	}
+
+
+
+	// Method to count the leaf nodes of the move tree of a search board to a depth - the moves are made and unmade in
+	// place, so the search board is back in the same position once the count is done
+	public static long perft(final SearchBoard searchBoard, final int depth) {
+
+		// Check if the depth is 0
+		if (depth <= 0) {
+			// Return 1 - the board itself is the only leaf
+			return 1;
+		}
+		// Variable to store the legal moves - the move list kept for the ply, so nothing is allocated once it exists
+		final MoveList moves = searchBoard.generateLegalMoves();
+
+		// Check if the moves are the leaves
+		if (depth == 1) {
+			// Return the number of moves - bulk counting, none of them are made
+			return moves.size();
+		}
+		// Variable to store the count
+		long nodes = 0;
+
+		// Loop through the legal moves
+		for (int i = 0; i < moves.size(); i++) {
+			// Make the move, add the leaves below it and unmake it
+			searchBoard.makeMove(moves.get(i));
+			nodes += perft(searchBoard, depth - 1);
+			searchBoard.unmakeMove();
+		}
+		// Return the count
+		return nodes;
+	}
+
+
+
+	// Method to count the leaf nodes under each legal move of a board - in the order the moves are generated. The moves are
+	// generated and made as ints, and only turned into move objects for the counts handed back
+	public static Map<Move, Long> divide(final Board board, final int depth) {
+		// Linked hash map to store the count for each root move
+		final Map<Move, Long> divide = new LinkedHashMap<>();
+		// Initialize a search board of the position and generate its legal moves
+		final SearchBoard searchBoard = new SearchBoard(board);
+		final MoveList moves = searchBoard.generateLegalMoves();
+
+		// Loop through the legal moves of the player to move
+		for (int i = 0; i < moves.size(); i++) {
+			// Make the move, count the leaves under it and unmake it
+			searchBoard.makeMove(moves.get(i));
+			final long nodes = perft(searchBoard, depth - 1);
+			searchBoard.unmakeMove();
+			// Store the count against the matching move object
+			divide.put(Move.MoveFactory.createMove(board, moves.get(i)), nodes);
+		}
+		// Return the counts
+		return divide;
+	}
+
+
+
+	// Method to work out the nodes per second from a node count and a time in nanoseconds
+	static long calculateNodesPerSecond(final long nodes, final long nanoseconds) {
+		// Return the rate - all of the nodes if the count took no measurable time
+		return nanoseconds > 0 ? (long) (nodes * 1000000000.0 / nanoseconds) : nodes;
+	}
+
+
+
+	// Method to join the arguments from an index back into one string - a FEN string is split on its spaces
+	static String joinArguments(final String[] args, final int startIndex) {
+		// String builder to store the joined arguments
+		final StringBuilder builder = new StringBuilder();
+
+		// Loop through the arguments from the start index
+		for (int i = startIndex; i < args.length; i++) {
+			// Add a space before every argument but the first
+			builder.append(i > startIndex ? " " : "").append(args[i]);
+		}
+		// Return the joined arguments
+		return builder.toString();
+	}
+}
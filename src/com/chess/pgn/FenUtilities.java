@@ -0,0 +1,232 @@
+package com.chess.pgn;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.pieces.Pawn;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.PieceUtils;
+
+
+
+public final class FenUtilities {
+
+	// Constructor
+	private FenUtilities() {
+		// Throw runtime exception in case someone tries to instantiate it
+		throw new RuntimeException("You cannot instantiate me!");
+	}
+
+
+
+	// Method to create a board from a FEN string - the move clocks are read past as the board doesn't keep them
+	public static Board createGameFromFEN(final String fenString) {
+		// Split the FEN string into its fields
+		final String[] fenPartitions = fenString.trim().split("\\s+");
+
+		// Check that there are at least the piece placement and side to move fields
+		if (fenPartitions.length < 2) {
+			// Throw a runtime exception error - not a valid FEN string
+			throw new RuntimeException("Invalid FEN string: " + fenString);
+		}
+		// Variables to store the castling and en passant fields - missing ones mean there are none
+		final String castlingField = fenPartitions.length > 2 ? fenPartitions[2] : "-";
+		final String enPassantField = fenPartitions.length > 3 ? fenPartitions[3] : "-";
+		// Variable to store the color to move
+		final Alliance moveMaker = moveMaker(fenPartitions[1]);
+		// Initialize a new builder
+		final Board.Builder builder = new Board.Builder();
+		// Array to store the piece placed on each tile
+		final Piece[] pieces = new Piece[BoardUtils.NUM_TILES];
+		// Variable to store the tile the next piece goes on - the placement starts on a8
+		int coordinate = 0;
+
+		// Loop through the characters of the piece placement field
+		for (final char pieceChar : fenPartitions[0].toCharArray()) {
+
+			// Check if the character is a row separator
+			if (pieceChar == '/') {
+				continue;
+			}
+
+			// Check if the character is a number of empty tiles
+			if (Character.isDigit(pieceChar)) {
+				// Skip the empty tiles
+				coordinate += pieceChar - '0';
+				continue;
+			}
+
+			// Check if the piece would be off the board
+			if (!BoardUtils.isValidTileCoordinate(coordinate)) {
+				// Throw a runtime exception error - too many pieces in the placement
+				throw new RuntimeException("Invalid FEN string: " + fenString);
+			}
+			// Set the piece for the character on the tile and move to the next tile
+			pieces[coordinate] = createPiece(pieceChar, coordinate, castlingField);
+			builder.setPiece(pieces[coordinate]);
+			coordinate++;
+		}
+
+		// Check that every tile was covered
+		if (coordinate != BoardUtils.NUM_TILES) {
+			// Throw a runtime exception error - the placement doesn't fill the board
+			throw new RuntimeException("Invalid FEN string: " + fenString);
+		}
+
+		// Check if there is an en passant tile
+		if (!enPassantField.equals("-")) {
+			// Variable to store the tile of the pawn that jumped - one tile past the en passant tile from the side to move
+			final int pawnCoordinate = BoardUtils.getCoordinateAtPosition(enPassantField) - (moveMaker.getDirection() * 8);
+			
+			// Check that the opponent's pawn is on that tile
+			if (!BoardUtils.isValidTileCoordinate(pawnCoordinate) || !(pieces[pawnCoordinate] instanceof Pawn) ||
+				pieces[pawnCoordinate].getPieceAlliance() == moveMaker) {
+				// Throw a runtime exception error - the en passant tile doesn't follow a pawn jump
+				throw new RuntimeException("Invalid FEN en passant tile: " + enPassantField);
+			}
+			// Set the pawn that jumped as the en passant pawn
+			builder.setEnPassantPawn((Pawn) pieces[pawnCoordinate]);
+		}
+		// Set the move maker
+		builder.setMoveMaker(moveMaker);
+		// Return the new board - its castling rights come from the kings and rooks left on their first move
+		return builder.build();
+	}
+
+
+
+	// Method to create a FEN string from a board - the board doesn't keep the move clocks so they are written as a new game's
+	public static String createFENFromGame(final Board board) {
+		// Return the fields separated by spaces
+		return calculateBoardText(board) + " " + (board.currentPlayer().getAlliance().isWhite() ? "w" : "b") + " " +
+			   calculateCastleText(board) + " " + calculateEnPassantSquare(board) + " 0 1";
+	}
+
+
+
+	// Method to work out the color to move from the side to move field
+	private static Alliance moveMaker(final String moveMakerString) {
+
+		// Check which color the field names
+		if (moveMakerString.equals("w")) {
+			return Alliance.WHITE;
+		} else if (moveMakerString.equals("b")) {
+			return Alliance.BLACK;
+		}
+		// Throw a runtime exception error - not a valid side to move
+		throw new RuntimeException("Invalid FEN side to move: " + moveMakerString);
+	}
+
+
+
+	// Method to create the shared piece for a FEN character on a tile - kings and rooks are on their first move when the
+	// castling field still allows castling with them, and pawns when they are on their starting row
+	private static Piece createPiece(final char pieceChar, final int coordinate, final String castlingField) {
+		// Variable to store the color of the piece - upper case for white
+		final Alliance alliance = Character.isUpperCase(pieceChar) ? Alliance.WHITE : Alliance.BLACK;
+
+		// Create the piece for the character
+		switch (Character.toUpperCase(pieceChar)) {
+			case 'P':
+				return PieceUtils.getPawn(alliance, coordinate, alliance.isWhite() ? BoardUtils.SECOND_RANK[coordinate] :
+																				 BoardUtils.SEVENTH_RANK[coordinate]);
+			case 'N':
+				return PieceUtils.getKnight(alliance, coordinate, false);
+			case 'B':
+				return PieceUtils.getBishop(alliance, coordinate, false);
+			case 'R':
+				return PieceUtils.getRook(alliance, coordinate, (coordinate == 63 && castlingField.contains("K")) ||
+																(coordinate == 56 && castlingField.contains("Q")) ||
+																(coordinate == 7 && castlingField.contains("k")) ||
+																(coordinate == 0 && castlingField.contains("q")));
+			case 'Q':
+				return PieceUtils.getQueen(alliance, coordinate, false);
+			case 'K':
+				return PieceUtils.getKing(alliance, coordinate, alliance.isWhite() ?
+										  coordinate == 60 && (castlingField.contains("K") || castlingField.contains("Q")) :
+										  coordinate == 4 && (castlingField.contains("k") || castlingField.contains("q")));
+			default:
+				// Throw a runtime exception error - not a piece character
+				throw new RuntimeException("Invalid FEN piece: " + pieceChar);
+		}
+	}
+
+
+
+	// Method to write the piece placement field of a board
+	private static String calculateBoardText(final Board board) {
+		// String builder to store the field
+		final StringBuilder builder = new StringBuilder();
+		// Variable to store the number of empty tiles in a row since the last piece
+		int emptyTiles = 0;
+
+		// Loop through all the tiles from a8 to h1
+		for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+			// Variable to store the piece on the tile - null if empty
+			final Piece piece = board.getPiece(i);
+
+			// Check if the tile is empty
+			if (piece == null) {
+				emptyTiles++;
+			} else {
+
+				// Check if empty tiles come before the piece
+				if (emptyTiles != 0) {
+					builder.append(emptyTiles);
+					emptyTiles = 0;
+				}
+				// Add the piece's letter - lower case for black
+				builder.append(piece.getPieceAlliance().isWhite() ? piece.toString() : piece.toString().toLowerCase());
+			}
+
+			// Check if the tile is the last in its row
+			if ((i + 1) % BoardUtils.NUM_TILES_PER_ROW == 0) {
+
+				// Check if the row ends with empty tiles
+				if (emptyTiles != 0) {
+					builder.append(emptyTiles);
+					emptyTiles = 0;
+				}
+
+				// Check if there is another row to come
+				if (i + 1 != BoardUtils.NUM_TILES) {
+					builder.append('/');
+				}
+			}
+		}
+		// Return the field
+		return builder.toString();
+	}
+
+
+
+	// Method to write the castling field of a board
+	private static String calculateCastleText(final Board board) {
+		// Variable to store the castling rights of the board
+		final int castlingRights = board.getCastlingRights();
+		// Variable to store the field - a letter for each right left
+		final String castleText = ((castlingRights & BoardUtils.WHITE_KING_SIDE_CASTLE) != 0 ? "K" : "") +
+								  ((castlingRights & BoardUtils.WHITE_QUEEN_SIDE_CASTLE) != 0 ? "Q" : "") +
+								  ((castlingRights & BoardUtils.BLACK_KING_SIDE_CASTLE) != 0 ? "k" : "") +
+								  ((castlingRights & BoardUtils.BLACK_QUEEN_SIDE_CASTLE) != 0 ? "q" : "");
+		// Return the field - a dash when there are no rights left
+		return castleText.isEmpty() ? "-" : castleText;
+	}
+
+
+
+	// Method to write the en passant field of a board
+	private static String calculateEnPassantSquare(final Board board) {
+		// Variable to store the pawn that has just jumped - null if there isn't one
+		final Pawn enPassantPawn = board.getEnPassantPawn();
+
+		// Check if there isn't an en passant pawn
+		if (enPassantPawn == null) {
+			// Return a dash
+			return "-";
+		}
+		// Return the tile the pawn jumped over - one tile behind it
+		return BoardUtils.getPositionAtCoordinate(enPassantPawn.getPiecePosition() +
+												  (enPassantPawn.getPieceAlliance().getOppositeDirection() * 8));
+	}
+}
@@ -2,14 +2,27 @@ package com.tests.chess.engine.board;
 
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.Test;
 
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveSink;
+import com.chess.engine.board.MoveUtils;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.board.Zobrist;
 import com.chess.engine.player.MoveTransition;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.IterativeDeepening;
 import com.chess.engine.player.ai.MiniMax;
 import com.chess.engine.player.ai.MoveStrategy;
+import com.chess.engine.player.ai.StandardBoardEvaluator;
+import com.chess.engine.player.ai.TranspositionTable;
+import com.chess.perft.Perft;
+import com.chess.pgn.FenUtilities;
 
 public class TestBoard {
 
@@ -50,6 +63,361 @@ public class TestBoard {
 //	  		assertEquals(new StandardBoardEvaluator().evaluate(board, 0), 0);
 	}
 	
+	@Test
+	public void perft() {
+		
+		// Check the leaf node counts of the standard board to depth 3
+		assertEquals(Perft.perft(Board.createStandardBoard(), 1), 20);
+		assertEquals(Perft.perft(Board.createStandardBoard(), 2), 400);
+		assertEquals(Perft.perft(Board.createStandardBoard(), 3), 8902);
+		
+		// Initialize a board with castling, en passant and pins on both sides to run tests
+		final Board board = FenUtilities.createGameFromFEN("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+		// Check the leaf node counts to depth 3
+		assertEquals(Perft.perft(board, 1), 48);
+		assertEquals(Perft.perft(board, 2), 2039);
+		assertEquals(Perft.perft(board, 3), 97862);
+		// Check that the board is written back to the same FEN string
+		assertEquals(FenUtilities.createFENFromGame(board), "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+		
+		// Initialize a board where most moves are promotions to run tests - every underpromotion is counted
+		final Board promotionBoard = FenUtilities.createGameFromFEN("n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - - 0 1");
+		// Check the leaf node counts to depth 3
+		assertEquals(Perft.perft(promotionBoard, 1), 24);
+		assertEquals(Perft.perft(promotionBoard, 2), 496);
+		assertEquals(Perft.perft(promotionBoard, 3), 9483);
+		assertEquals(Perft.divide(promotionBoard, 3).size(), 24);
+	}
+	
+	@Test
+	public void perftPositions() {
+		
+		// Initialize the third standard perft position - an end game with en passant and checks along the ranks
+		final Board position3 = FenUtilities.createGameFromFEN("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1");
+		// Check the leaf node counts to depth 4
+		assertEquals(Perft.perft(position3, 1), 14);
+		assertEquals(Perft.perft(position3, 2), 191);
+		assertEquals(Perft.perft(position3, 3), 2812);
+		assertEquals(Perft.perft(position3, 4), 43238);
+		
+		// Initialize the fourth standard perft position and its mirror - promotions, underpromotions and castling out of check
+		final Board position4 = FenUtilities.createGameFromFEN("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1");
+		final Board mirroredPosition4 = FenUtilities.createGameFromFEN("r2q1rk1/pP1p2pp/Q4n2/bbp1p3/Np6/1B3NBn/pPPP1PPP/R3K2R b KQ - 0 1");
+		// Check the leaf node counts to depth 3 - the same for both colors
+		assertEquals(Perft.perft(position4, 1), 6);
+		assertEquals(Perft.perft(position4, 2), 264);
+		assertEquals(Perft.perft(position4, 3), 9467);
+		assertEquals(Perft.perft(mirroredPosition4, 3), 9467);
+		
+		// Initialize the fifth standard perft position - a promotion that takes and a knight checking the king's castle tile
+		final Board position5 = FenUtilities.createGameFromFEN("rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8");
+		// Check the leaf node counts to depth 3
+		assertEquals(Perft.perft(position5, 1), 44);
+		assertEquals(Perft.perft(position5, 2), 1486);
+		assertEquals(Perft.perft(position5, 3), 62379);
+	}
+	
+	@Test
+	public void zobristKeys() {
+		
+		// Initialize a board with castling, en passant, captures and promotions within two moves
+		final Board board = FenUtilities.createGameFromFEN("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1");
+		
+		// Loop through the boards reachable in two moves
+		for (final Board reachedBoard : collectBoards(board, 2, new ArrayList<Board>())) {
+			// Check that the key updated by each move is the same as the key worked out from scratch
+			assertEquals(reachedBoard.getZobristKey(), Zobrist.calculateKey(reachedBoard));
+		}
+	}
+	
+	@Test
+	public void searchBoardEvaluation() {
+		
+		// Boards with castling, en passant, captures, promotions and a check mate within two moves
+		final String[] fenStrings = { "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+									  "rnbqkbnr/pppp1ppp/8/4p3/6P1/5P2/PPPPP2P/RNBQKBNR b KQkq - 0 2" };
+		// Initialize the evaluator
+		final StandardBoardEvaluator boardEvaluator = new StandardBoardEvaluator();
+		
+		// Loop through the boards
+		for (final String fenString : fenStrings) {
+			
+			// Loop through the boards reachable in two moves
+			for (final Board reachedBoard : collectBoards(FenUtilities.createGameFromFEN(fenString), 2, new ArrayList<Board>())) {
+				// Initialize a search board of the board
+				final SearchBoard searchBoard = new SearchBoard(reachedBoard);
+				
+				// Check that the search board has the same key and evaluates the same as the board, check mate bonus included
+				assertEquals(searchBoard.getZobristKey(), reachedBoard.getZobristKey());
+				assertEquals(boardEvaluator.evaluate(searchBoard, 0), boardEvaluator.evaluate(reachedBoard, 0));
+				assertEquals(boardEvaluator.evaluate(searchBoard, 2), boardEvaluator.evaluate(reachedBoard, 2));
+			}
+		}
+	}
+	
+	@Test
+	public void fenRoundTrip() {
+		
+		// Initialize a board with castling, en passant, captures and promotions within two moves
+		final Board board = FenUtilities.createGameFromFEN("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+		
+		// Loop through the boards reachable in two moves
+		for (final Board reachedBoard : collectBoards(board, 2, new ArrayList<Board>())) {
+			// Write the board as a FEN string and read it back
+			final String fenString = FenUtilities.createFENFromGame(reachedBoard);
+			final Board readBoard = FenUtilities.createGameFromFEN(fenString);
+			
+			// Check that the board read back is the same board, with the same key, and is written as the same FEN string
+			assertEquals(readBoard, reachedBoard);
+			assertEquals(readBoard.getZobristKey(), reachedBoard.getZobristKey());
+			assertEquals(FenUtilities.createFENFromGame(readBoard), fenString);
+		}
+	}
+	
+	@Test
+	public void searchBoardPerftMatchesBoard() {
+		
+		// Boards with castling, en passant, pins, checks and promotions
+		final String[] fenStrings = { "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+									  "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+									  "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+									  "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+									  "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8" };
+		
+		// Loop through the boards
+		for (final String fenString : fenStrings) {
+			// Initialize the board and a search board of the same position
+			final Board board = FenUtilities.createGameFromFEN(fenString);
+			final SearchBoard searchBoard = new SearchBoard(board);
+			
+			// Check that making and unmaking moves in place counts the same leaves as building a board for every move
+			assertEquals(Perft.perft(searchBoard, 3), countLeaves(board, 3));
+			// Check that the search board is back in the position it started in
+			assertEquals(searchBoard.toBoard(), board);
+		}
+	}
+	
+	@Test
+	public void alphaBetaMatchesMiniMax() {
+		
+		// Initialize a board from the middle of a game with captures available to both sides
+		final Board board = FenUtilities.createGameFromFEN("r1bqkb1r/pppp1ppp/2n2n2/4p2Q/2B1P3/8/PPPP1PPP/RNB1K1NR w KQkq - 4 4");
+		
+		// Check that alpha-beta picks the same move as mini-max at the same depth for both colors
+		assertEquals(new AlphaBeta(3).execute(board), new MiniMax(3).execute(board));
+		assertEquals(new AlphaBeta(3).execute(board.currentPlayer().getLegalMoves().iterator().next().execute()),
+					 new MiniMax(3).execute(board.currentPlayer().getLegalMoves().iterator().next().execute()));
+	}
+
+	@Test
+	public void alphaBetaReusedMatchesMiniMax() {
+
+		// Initialize a rook endgame and one alpha-beta search with a transposition table to run on it more than once
+		final Board board = FenUtilities.createGameFromFEN("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1");
+		final AlphaBeta alphaBeta = new AlphaBeta(new StandardBoardEvaluator(), 4, new TranspositionTable(1));
+		final Move miniMaxMove = new MiniMax(4).execute(board);
+
+		// Check that the table left by one search doesn't change the move picked by the next, on the same board or the next one
+		assertEquals(alphaBeta.execute(board), miniMaxMove);
+		assertEquals(alphaBeta.execute(board), miniMaxMove);
+		assertEquals(alphaBeta.execute(miniMaxMove.execute()), new MiniMax(4).execute(miniMaxMove.execute()));
+	}
+
+	@Test
+	public void iterativeDeepening() {
+		
+		// Initialize a board from the middle of a game with captures available to both sides
+		final Board board = FenUtilities.createGameFromFEN("r1bqkb1r/pppp1ppp/2n2n2/4p2Q/2B1P3/8/PPPP1PPP/RNB1K1NR w KQkq - 4 4");
+		
+		// Check that with no limit it completes every depth and picks the same move as alpha-beta at the last one
+		final IterativeDeepening unlimited = new IterativeDeepening(new StandardBoardEvaluator(), 3, Long.MAX_VALUE, Long.MAX_VALUE);
+		assertEquals(unlimited.execute(board), new AlphaBeta(new StandardBoardEvaluator(), 3, new TranspositionTable(1), true).execute(board));
+		assertEquals(unlimited.getCompletedDepth(), 3);
+		
+		// Check that when the boards run out before the first iteration finishes a legal move is still made
+		final IterativeDeepening starved = new IterativeDeepening(new StandardBoardEvaluator(), 3, Long.MAX_VALUE, 1);
+		assertTrue(board.currentPlayer().getLegalMoves().contains(starved.execute(board)));
+		assertEquals(starved.getCompletedDepth(), 0);
+	}
+	
+	@Test
+	public void iterativeDeepeningDeadline() {
+		
+		// Initialize a board where the second iteration picks a different move to the first
+		final Board board = FenUtilities.createGameFromFEN("rnbqkb1r/pppp1ppp/5n2/4p3/2B1P3/8/PPPP1PPP/RNBQK1NR w KQkq - 2 3");
+		// Search to depth 1 and to depth 2 for the move of the first iteration and the boards each iteration searches
+		final AlphaBeta depth1Search = new AlphaBeta(new StandardBoardEvaluator(), 1, new TranspositionTable(1), true);
+		final Move depth1Move = depth1Search.execute(board);
+		final AlphaBeta depth2Search = new AlphaBeta(new StandardBoardEvaluator(), 2, new TranspositionTable(1), true);
+		depth2Search.execute(board);
+		// Variables to store the boards the first iteration searches and the most the second one can, without its ordering
+		final long depth1Nodes = depth1Search.getNodesSearched();
+		final long depth2Nodes = depth2Search.getNodesSearched();
+		// Variable to store the number of searches stopped part way through the second iteration
+		int numStopped = 0;
+		
+		// Loop through budgets of boards that run out while the second iteration is being searched
+		for (long nodeLimit = depth1Nodes + 1; nodeLimit < depth1Nodes + depth2Nodes; nodeLimit++) {
+			// Search with the budget of boards
+			final IterativeDeepening iterativeDeepening = new IterativeDeepening(new StandardBoardEvaluator(), 2, Long.MAX_VALUE, nodeLimit);
+			final Move move = iterativeDeepening.execute(board);
+			
+			// Check if the deadline stopped the second iteration
+			if (iterativeDeepening.getCompletedDepth() == 1) {
+				// Check that the move of the completed first iteration is played
+				assertEquals(move, depth1Move);
+				numStopped++;
+			}
+		}
+		// Check that the deadline stopped the second iteration at least once
+		assertTrue(numStopped > 0);
+	}
+	
+	@Test
+	public void transpositionTable() {
+		
+		// Initialize a one megabyte table and the standard board to store results for
+		final TranspositionTable table = new TranspositionTable(1);
+		final Board board = Board.createStandardBoard();
+		final int move = MoveUtils.encode(board.currentPlayer().getLegalMoves().iterator().next());
+		
+		// Check that a stored result comes back field for field, negative scores included
+		table.store(board.getZobristKey(), 5, TranspositionTable.UPPER_BOUND, -1234, move);
+		final long entry = table.probe(board.getZobristKey());
+		assertEquals(TranspositionTable.getDepth(entry), 5);
+		assertEquals(TranspositionTable.getBound(entry), TranspositionTable.UPPER_BOUND);
+		assertEquals(TranspositionTable.getScore(entry), -1234);
+		assertEquals(TranspositionTable.getMove(entry), move);
+		
+		// Check that a shallower result for another position on the same entry doesn't replace it, and isn't found
+		final long otherKey = board.getZobristKey() + table.getNumEntries();
+		table.store(otherKey, 2, TranspositionTable.EXACT, 0, MoveUtils.NULL_MOVE);
+		assertEquals(table.probe(otherKey), 0);
+		assertEquals(table.probe(board.getZobristKey()), entry);
+		
+		// Check that it replaces it once a new search has started
+		table.newSearch();
+		table.store(otherKey, 2, TranspositionTable.EXACT, 0, MoveUtils.NULL_MOVE);
+		assertEquals(table.probe(board.getZobristKey()), 0);
+		assertEquals(TranspositionTable.getDepth(table.probe(otherKey)), 2);
+	}
+	
+	@Test
+	public void quiescenceSearch() {
+		
+		// Initialize a board where the queen can take a pawn that another pawn defends
+		final Board board = FenUtilities.createGameFromFEN("4k3/8/4p3/3p4/8/8/8/3QK3 w - - 0 1");
+		final Move queenTakesPawn = Move.MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition("d1"),
+																	   BoardUtils.getCoordinateAtPosition("d5"));
+		
+		// Check that a one ply search scored at the horizon takes the pawn, but not once the recapture is played out
+		assertEquals(new AlphaBeta(new StandardBoardEvaluator(), 1, new TranspositionTable(1), false).execute(board), queenTakesPawn);
+		assertNotEquals(new AlphaBeta(new StandardBoardEvaluator(), 1, new TranspositionTable(1), true).execute(board), queenTakesPawn);
+	}
+	
+	@Test
+	public void legalChecks() {
+		
+		// Boards where castling gives check for each color, and boards with discovered checks, en passant and promotions
+		final String[] fenStrings = { "5k2/8/8/8/8/8/8/4K2R w K - 0 1",
+									  "r3k3/8/8/8/8/8/8/3K4 b q - 0 1",
+									  "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+									  "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+									  "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8" };
+		
+		// Loop through the boards
+		for (final String fenString : fenStrings) {
+			// Initialize the board
+			final Board board = FenUtilities.createGameFromFEN(fenString);
+			// List to store the legal moves that give check, castles included
+			final List<Move> checks = new ArrayList<>();
+			
+			// Loop through the current player's legal moves and keep the ones that give check
+			for (final Move move : board.currentPlayer().getLegalMoves()) {
+				if (board.givesCheck(move)) {
+					checks.add(move);
+				}
+			}
+			// Check that only generating the checks finds the same moves in the same order
+			assertEquals(generateLegalChecks(board), checks);
+		}
+		// Check that castling king side gives check with the rook
+		final Board board = FenUtilities.createGameFromFEN("5k2/8/8/8/8/8/8/4K2R w K - 0 1");
+		assertTrue(generateLegalChecks(board).contains(Move.MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition("e1"),
+																							   BoardUtils.getCoordinateAtPosition("g1"))));
+	}
+	
+	// Method to collect the legal moves of the current player that give check
+	private static List<Move> generateLegalChecks(final Board board) {
+		// List to store the moves that give check
+		final List<Move> checks = new ArrayList<>();
+		
+		// Generate the moves that give check into the list
+		board.generateLegalChecks(board.currentPlayer().getAlliance(), new MoveSink() {
+			
+			// Override the accept method to keep every move
+			@Override
+			public boolean accept(final Move move) {
+				// Add the move and keep going
+				return checks.add(move);
+			}
+		});
+		// Return the moves
+		return checks;
+	}
+	
+	// Method to add a board and every board reachable from it by executing legal moves to a depth to a list
+	private static List<Board> collectBoards(final Board board, final int depth, final List<Board> boards) {
+		// Add the board
+		boards.add(board);
+		
+		// Check if the depth is 0
+		if (depth == 0) {
+			// Return the list
+			return boards;
+		}
+		
+		// Loop through all the current player's legal moves
+		for (final Move move : board.currentPlayer().getLegalMoves()) {
+			// Initialize a move transition to test the move
+			final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+			
+			// Check if the move can be completed
+			if (moveTransition.getMoveStatus().isDone()) {
+				// Add the boards reachable after the move
+				collectBoards(moveTransition.getTransitionBoard(), depth - 1, boards);
+			}
+		}
+		// Return the list
+		return boards;
+	}
+	
+	// Method to count the leaf nodes of the move tree of a board by executing every legal move into a new board
+	private static long countLeaves(final Board board, final int depth) {
+		
+		// Check if the depth is 0
+		if (depth == 0) {
+			// Return 1 - the board itself is the only leaf
+			return 1;
+		}
+		// Variable to store the count
+		long nodes = 0;
+		
+		// Loop through all the current player's legal moves
+		for (final Move move : board.currentPlayer().getLegalMoves()) {
+			// Initialize a move transition to test the move
+			final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+			
+			// Check if the move can be completed
+			if (moveTransition.getMoveStatus().isDone()) {
+				// Add the leaves under the move
+				nodes += countLeaves(moveTransition.getTransitionBoard(), depth - 1);
+			}
+		}
+		// Return the count
+		return nodes;
+	}
+	
 	/*
 	@Test
 	public void testFoolsMate() {